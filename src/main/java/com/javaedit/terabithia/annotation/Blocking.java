@@ -0,0 +1,23 @@
+package com.javaedit.terabithia.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * @author wjw
+ * @description: 表示handler会阻塞（如调用数据库、下游服务），需要在业务线程池中执行。
+ * 指定了隔离池名称时在对应的隔离池中执行，隔离池满时直接返回503，不影响其他路由
+ * @title: Blocking
+ * @date 2026/10/18 13:02
+ * @see NonBlocking
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Blocking {
+
+    /**
+     * 隔离池名称，对应terabithia.bulkheads下的配置，为空时使用默认的业务线程池
+     */
+    String value() default "";
+
+}
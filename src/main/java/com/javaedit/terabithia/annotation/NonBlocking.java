@@ -0,0 +1,17 @@
+package com.javaedit.terabithia.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * @author wjw
+ * @description: 表示handler不会阻塞，即使开启了业务线程池也直接在IO线程中执行，
+ * 适用于执行很快的方法，省去线程切换的开销。流式接收请求体、返回@ResponseBody的Stream或Iterator的handler会阻塞，仍然在业务线程池中执行
+ * @title: NonBlocking
+ * @date 2026/10/18 11:32
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NonBlocking {
+
+}
@@ -0,0 +1,45 @@
+package com.javaedit.terabithia.annotation;
+
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation which indicates that a method parameter should be bound to a URI template
+ * variable, such as {@code /orders/{id}}. Supported for {@link RequestMapping}
+ * annotated handler methods.
+ *
+ * @author Arjen Poutsma
+ * @author Juergen Hoeller
+ * @see RequestMapping
+ * @since 3.0
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PathVariable {
+
+    /**
+     * Alias for {@link #name}.
+     */
+    @AliasFor("name")
+    String value() default "";
+
+    /**
+     * The name of the path variable to bind to, the method parameter name by default.
+     *
+     * @since 4.3.3
+     */
+    @AliasFor("value")
+    String name() default "";
+
+    /**
+     * Whether the path variable is required.
+     * <p>Defaults to {@code true}, leading to an exception being thrown if the path
+     * variable is missing. Switch this to {@code false} if you prefer a {@code null}
+     * in this case, e.g. on a handler method mapped to several patterns.
+     *
+     * @since 4.3.3
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,28 @@
+package com.javaedit.terabithia.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation indicating a method parameter should be bound to the body of the web request.
+ * The body of the request is deserialized from JSON to resolve the method argument.
+ *
+ * @author Arjen Poutsma
+ * @see ResponseBody
+ * @since 3.0
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestBody {
+
+    /**
+     * Whether body content is required.
+     * <p>Default is {@code true}, leading to an exception thrown in case
+     * there is no body content. Switch this to {@code false} if you prefer
+     * {@code null} to be passed when the body content is {@code null}.
+     *
+     * @since 3.2
+     */
+    boolean required() default true;
+
+}
@@ -23,4 +23,9 @@ public @interface RequestMapping {
     String path() default "";
 
     RequestMethod[] method() default {};
+
+    /**
+     * 请求体最大字节数，小于0时聚合的请求体使用terabithia.body.max-content-length，流式接收的请求体不限制
+     */
+    int maxContentLength() default -1;
 }
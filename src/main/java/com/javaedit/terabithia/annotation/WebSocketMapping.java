@@ -0,0 +1,25 @@
+package com.javaedit.terabithia.annotation;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.*;
+
+/**
+ * @author wjw
+ * @description: 表示是一个WebSocket端点，类需要实现WebSocketHandler，和@Controller在同一个端口、同一次扫描中注册
+ * @title: WebSocketMapping
+ * @date 2026/10/18 21:20
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Component
+public @interface WebSocketMapping {
+
+    @AliasFor("path")
+    String value() default "";
+
+    @AliasFor("value")
+    String path() default "";
+}
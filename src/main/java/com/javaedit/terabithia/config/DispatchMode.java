@@ -0,0 +1,21 @@
+package com.javaedit.terabithia.config;
+
+/**
+ * @author wjw
+ * @description: handler的执行方式
+ * @title: DispatchMode
+ * @date 2026/10/18 11:30
+ */
+public enum DispatchMode {
+
+    /**
+     * 直接在netty的IO线程中执行handler
+     */
+    EVENT_LOOP,
+
+    /**
+     * 在业务线程池中执行handler，执行完成后回到IO线程写响应
+     */
+    EXECUTOR
+
+}
@@ -1,22 +1,18 @@
 package com.javaedit.terabithia.config;
 
-import com.javaedit.terabithia.handler.netty.HttpServerHandler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.channel.unix.UnixChannelOption;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
-import io.netty.handler.stream.ChunkedWriteHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author wjw
  * @description: 提供http服务的类，用于配置与启动netty
@@ -36,35 +32,41 @@ public class HttpServer {
         // 初始化netty相关
         TerabithiaProperties properties = context.getBean(TerabithiaProperties.class);
 
-        final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        final EventLoopGroup workerGroup = new NioEventLoopGroup();
+        // 选择传输层，epoll不可用时退回nio
+        ServerTransport transport = ServerTransport.select(properties);
+        int acceptors = resolveAcceptors(properties, transport);
+        if (!transport.supportsFileRegion()) {
+            // 静态资源和文件下载不能使用零拷贝，改为分块读取文件写出
+            log.warn("Transport {} does not support sendfile (FileRegion), files are written in chunks instead", transport.getName());
+        }
+        // 每个acceptor需要独立的boss线程
+        final EventLoopGroup bossGroup = transport.newEventLoopGroup(Math.max(properties.getBossThreads(), acceptors));
+        final EventLoopGroup workerGroup = transport.newEventLoopGroup(properties.getWorkerThreads());
         try {
             final ServerBootstrap b = new ServerBootstrap();
             b.group(bossGroup, workerGroup)
                     // 临时存放已完成三次握手的请求的队列
                     .option(ChannelOption.SO_BACKLOG, 1024)
-                    .channel(NioServerSocketChannel.class)
+                    .channel(transport.getServerChannelClass())
                     // 日志
                     .handler(new LoggingHandler(LogLevel.INFO))
-                    .childHandler(new ChannelInitializer<SocketChannel>() {
-                        @Override
-                        protected void initChannel(SocketChannel ch) throws Exception {
-                            ch.pipeline()
-                                    .addLast(new HttpServerCodec())
-                                    //把多个消息转换为一个单一的FullHttpRequest或是FullHttpResponse
-                                    .addLast(new HttpObjectAggregator(65536))
-                                    //压缩Http消息
-//						.addLast(new HttpChunkContentCompressor())
-                                    //大文件支持
-                                    .addLast(new ChunkedWriteHandler())
-                                    .addLast(new HttpServerHandler(context));
-                        }
-                    });
+                    .childHandler(new HttpServerInitializer(context, properties, transport));
+            transport.configure(b, properties);
+            if (acceptors > 1) {
+                b.option(UnixChannelOption.SO_REUSEPORT, true);
+            }
 
             Integer port = properties.getPort();
-            final Channel ch = b.bind(port).sync().channel();
-            log.info("***** HttpServer started, port:{} *****", port);
-            ch.closeFuture().sync();
+            // 开启SO_REUSEPORT时绑定多个ServerChannel，由内核分发连接
+            List<Channel> channels = new ArrayList<>(acceptors);
+            for (int i = 0; i < acceptors; i++) {
+                channels.add(b.bind(port).sync().channel());
+            }
+            log.info("***** HttpServer started, port:{}, transport:{}, acceptors:{}, h2c:{} *****", port, transport.getName(), acceptors,
+                    properties.getHttp2().isEnabled());
+            for (Channel ch : channels) {
+                ch.closeFuture().sync();
+            }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         } finally {
@@ -72,4 +74,21 @@ public class HttpServer {
             workerGroup.shutdownGracefully();
         }
     }
+
+    /**
+     * @param properties
+     * @param transport
+     * @return
+     * @apiNote 计算需要绑定的ServerChannel数量，传输层不支持SO_REUSEPORT时只绑定一个
+     * @author wjw
+     * @date 2026/10/18 11:05
+     */
+    private int resolveAcceptors(TerabithiaProperties properties, ServerTransport transport) {
+        int acceptors = Math.max(properties.getAcceptors(), 1);
+        if (acceptors > 1 && !transport.supportsReusePort()) {
+            log.warn("Transport {} does not support SO_REUSEPORT, binding a single acceptor", transport.getName());
+            return 1;
+        }
+        return acceptors;
+    }
 }
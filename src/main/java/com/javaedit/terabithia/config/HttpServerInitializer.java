@@ -0,0 +1,156 @@
+package com.javaedit.terabithia.config;
+
+import com.javaedit.terabithia.handler.netty.FileRegionBodyWriter;
+import com.javaedit.terabithia.handler.netty.HttpCompressionHandler;
+import com.javaedit.terabithia.handler.netty.HttpRequestBodyHandler;
+import com.javaedit.terabithia.handler.netty.HttpServerHandler;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.*;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * @author wjw
+ * @description: 初始化连接的pipeline。开启HTTP/2时同时支持HTTP/1.1、h2c升级和prior-knowledge方式的HTTP/2，
+ * HTTP/2的每个stream是一个子channel，使用和HTTP/1.1相同的处理器，controller不需要区分协议
+ * @title: HttpServerInitializer
+ * @date 2026/10/18 17:40
+ */
+public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
+
+    private final ApplicationContext context;
+
+    private final TerabithiaProperties properties;
+
+    private final ServerTransport transport;
+
+    /**
+     * HTTP/2 stream子channel的初始化器，可以共享
+     */
+    private final ChannelInitializer<Channel> streamInitializer = new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(Channel ch) throws Exception {
+            // 把HTTP/2的帧转换为HttpRequest、HttpContent，响应再转换回帧
+            ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true));
+            addHttpHandlers(ch.pipeline());
+        }
+    };
+
+    public HttpServerInitializer(ApplicationContext context, TerabithiaProperties properties, ServerTransport transport) {
+        this.context = context;
+        this.properties = properties;
+        this.transport = transport;
+    }
+
+    @Override
+    protected void initChannel(SocketChannel ch) throws Exception {
+        ch.attr(FileRegionBodyWriter.FILE_REGION_SUPPORTED).set(transport.supportsFileRegion());
+        ChannelPipeline pipeline = ch.pipeline();
+        TerabithiaProperties.Flush flush = properties.getFlush();
+        if (flush.isConsolidate()) {
+            // 放在最前面，一次读取中产生的响应只写不刷，读取完成时统一flush，减少write系统调用
+            pipeline.addLast(new FlushConsolidationHandler(flush.getMaxPendingFlushes(), flush.isConsolidateWhenNoReadInProgress()));
+        }
+        if (!properties.getHttp2().isEnabled()) {
+            pipeline.addLast(new HttpServerCodec());
+            addHttpHandlers(pipeline);
+            return;
+        }
+        HttpServerCodec sourceCodec = new HttpServerCodec();
+        // 处理Upgrade: h2c，升级请求在升级完成后作为stream 1交给子channel处理
+        HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec, protocol ->
+                AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+                        new Http2ServerUpgradeCodec(newHttp2FrameCodec(), new Http2MultiplexHandler(streamInitializer)) : null,
+                properties.getBody().getMaxContentLength()) {
+            @Override
+            protected boolean shouldHandleUpgradeRequest(HttpRequest req) {
+                // 升级请求需要聚合后才能升级，带请求体的请求不升级，仍然用HTTP/1.1处理，避免聚合流式上传的请求体
+                return super.shouldHandleUpgradeRequest(req)
+                        && HttpUtil.getContentLength(req, 0L) == 0 && !HttpUtil.isTransferEncodingChunked(req);
+            }
+        };
+        // 连接以HTTP/2的preface开头时直接使用HTTP/2，否则按HTTP/1.1处理
+        pipeline.addLast(new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, new ChannelHandlerAdapter() {
+            @Override
+            public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+                // 替换为HTTP/2的handler，不能用addLast，会放到Http1Installer后面
+                Http2FrameCodec frameCodec = newHttp2FrameCodec();
+                ctx.pipeline().addAfter(ctx.name(), null, frameCodec);
+                ctx.pipeline().addAfter(ctx.pipeline().context(frameCodec).name(), null, new Http2MultiplexHandler(streamInitializer));
+                ctx.pipeline().remove(this);
+            }
+        }));
+        pipeline.addLast(new Http1Installer());
+    }
+
+    /**
+     * @param pipeline
+     * @return
+     * @apiNote 添加处理http消息的handler，HTTP/1.1的连接和HTTP/2的stream共用
+     * @author wjw
+     * @date 2026/10/18 17:45
+     */
+    private void addHttpHandlers(ChannelPipeline pipeline) {
+        pipeline
+                //根据路由决定流式接收还是聚合请求体，并限制请求体大小
+                .addLast(new HttpRequestBodyHandler(context))
+                //把多个消息转换为一个单一的FullHttpRequest或是FullHttpResponse，大小由HttpRequestBodyHandler限制
+                .addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+        if (properties.getCompression().isEnabled()) {
+            //压缩Http消息，放在聚合之后，每个请求只记录一次Accept-Encoding
+            pipeline.addLast(new HttpCompressionHandler(properties.getCompression()));
+        }
+        pipeline
+                //大文件支持，不能使用FileRegion时分块写出文件，也用于分块写出Stream等返回值
+                .addLast(new DeferredResumeChunkedWriteHandler())
+                .addLast(new HttpServerHandler(context));
+    }
+
+    private Http2FrameCodec newHttp2FrameCodec() {
+        TerabithiaProperties.Http2 http2 = properties.getHttp2();
+        Http2Settings settings = Http2Settings.defaultSettings()
+                .maxConcurrentStreams(http2.getMaxConcurrentStreams())
+                .initialWindowSize(http2.getInitialWindowSize());
+        return Http2FrameCodecBuilder.forServer().initialSettings(settings).build();
+    }
+
+    /**
+     * 收到第一个HTTP/1.1消息时说明没有升级到HTTP/2，再添加HTTP/1.1的handler。
+     * 升级成功后HTTP/2的帧由Http2MultiplexHandler分发给stream，不会经过这些handler
+     */
+    private class Http1Installer extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (!(msg instanceof HttpMessage)) {
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            ChannelPipeline pipeline = ctx.pipeline();
+            addHttpHandlers(pipeline);
+            pipeline.remove(this);
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    /**
+     * channel重新可写时延迟到下一个任务再继续写出chunk。
+     * 可写状态的变化是在写出或flush的过程中同步触发的，比如FlushConsolidationHandler在不可写时会立即flush，
+     * flush后重新可写，如果直接继续写出，下一个chunk会插到HttpObjectEncoder正在写出的chunk中间，破坏chunked编码
+     */
+    private static class DeferredResumeChunkedWriteHandler extends ChunkedWriteHandler {
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isWritable()) {
+                ctx.executor().execute(this::resumeTransfer);
+            }
+            ctx.fireChannelWritabilityChanged();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.javaedit.terabithia.config;
+
+/**
+ * @author wjw
+ * @description: 调用handler方法的方式
+ * @title: InvocationStrategy
+ * @date 2026/10/18 23:58
+ */
+public enum InvocationStrategy {
+
+    /**
+     * 实验性质：注册时为每个方法创建MethodHandle，调用时不做访问检查；无法创建时退回反射。
+     * MethodHandle保存在实例字段中，JIT无法把它当作常量内联，目前没有测出比反射更快
+     */
+    METHOD_HANDLE,
+
+    /**
+     * Method.invoke，默认
+     */
+    REFLECTION
+
+}
@@ -0,0 +1,64 @@
+package com.javaedit.terabithia.config;
+
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * @author wjw
+ * @description: jackson生成字节码的序列化模块，用生成的代码代替反射读写属性。
+ * 模块不是必需的依赖，需要自行添加jar，不在classpath中时不注册
+ * @title: JsonBytecodeModule
+ * @date 2026/10/18 18:52
+ */
+public enum JsonBytecodeModule {
+
+    /**
+     * 不使用
+     */
+    NONE(null),
+
+    /**
+     * jackson-module-blackbird，基于LambdaMetafactory，需要运行在java11以上
+     */
+    BLACKBIRD("com.fasterxml.jackson.module.blackbird.BlackbirdModule"),
+
+    /**
+     * jackson-module-afterburner，java8可用，java9以上访问非public的类和属性时会退回反射
+     */
+    AFTERBURNER("com.fasterxml.jackson.module.afterburner.AfterburnerModule");
+
+    @Nullable
+    private final String className;
+
+    JsonBytecodeModule(@Nullable String className) {
+        this.className = className;
+    }
+
+    /**
+     * @return
+     * @apiNote 模块类是否在classpath中
+     */
+    public boolean isAvailable() {
+        return this.className != null && ClassUtils.isPresent(this.className, JsonBytecodeModule.class.getClassLoader());
+    }
+
+    /**
+     * @return 不可用时返回null
+     * @apiNote 通过反射创建模块，不需要在编译时依赖
+     * @author wjw
+     * @date 2026/10/18 18:55
+     */
+    @Nullable
+    public Module newModule() {
+        if (!isAvailable()) {
+            return null;
+        }
+        try {
+            Class<?> moduleClass = ClassUtils.forName(this.className, JsonBytecodeModule.class.getClassLoader());
+            return (Module) moduleClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
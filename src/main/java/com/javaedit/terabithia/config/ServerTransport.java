@@ -0,0 +1,183 @@
+package com.javaedit.terabithia.config;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author wjw
+ * @description: netty传输层实现，负责创建EventLoopGroup和ServerChannel
+ * @title: ServerTransport
+ * @date 2026/10/18 10:15
+ */
+@Slf4j
+public abstract class ServerTransport {
+
+    /**
+     * @return
+     * @apiNote 传输层名称，用于日志
+     */
+    public abstract String getName();
+
+    /**
+     * @param nThreads 线程数，0表示使用netty默认值
+     * @return
+     * @apiNote 创建EventLoopGroup
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int nThreads);
+
+    public abstract Class<? extends ServerChannel> getServerChannelClass();
+
+    /**
+     * @return
+     * @apiNote 是否支持SO_REUSEPORT（多个ServerChannel绑定同一端口）
+     */
+    public boolean supportsReusePort() {
+        return false;
+    }
+
+    /**
+     * @return
+     * @apiNote 是否支持FileRegion（sendfile零拷贝发送文件）
+     */
+    public boolean supportsFileRegion() {
+        return true;
+    }
+
+    /**
+     * @param bootstrap
+     * @param properties
+     * @apiNote 设置传输层特有的参数
+     */
+    public void configure(ServerBootstrap bootstrap, TerabithiaProperties properties) {
+    }
+
+    /**
+     * @param properties
+     * @return
+     * @apiNote 根据配置选择传输层，native传输不可用时退回NIO
+     * @author wjw
+     * @date 2026/10/18 10:20
+     */
+    public static ServerTransport select(TerabithiaProperties properties) {
+        TransportType type = properties.getTransport() == null ? TransportType.AUTO : properties.getTransport();
+        switch (type) {
+            case NIO:
+                return new NioTransport();
+            case IO_URING:
+                if (IOUring.isAvailable()) {
+                    return new IOUringTransport();
+                }
+                log.warn("io_uring transport is not available, falling back", IOUring.unavailabilityCause());
+                return Epoll.isAvailable() ? new EpollTransport() : new NioTransport();
+            case EPOLL:
+                if (Epoll.isAvailable()) {
+                    return new EpollTransport();
+                }
+                log.warn("Epoll transport is not available, falling back to NIO", Epoll.unavailabilityCause());
+                return new NioTransport();
+            case AUTO:
+            default:
+                return Epoll.isAvailable() ? new EpollTransport() : new NioTransport();
+        }
+    }
+
+    static class NioTransport extends ServerTransport {
+
+        @Override
+        public String getName() {
+            return "nio";
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads) {
+            return new NioEventLoopGroup(nThreads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+    }
+
+    static class EpollTransport extends ServerTransport {
+
+        @Override
+        public String getName() {
+            return "epoll";
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads) {
+            return new EpollEventLoopGroup(nThreads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return true;
+        }
+
+        @Override
+        public void configure(ServerBootstrap bootstrap, TerabithiaProperties properties) {
+            TerabithiaProperties.Epoll epoll = properties.getEpoll();
+            EpollMode mode = epoll.isEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, mode)
+                    .childOption(EpollChannelOption.EPOLL_MODE, mode);
+            if (epoll.getTcpFastOpen() > 0) {
+                if (Epoll.isTcpFastOpenServerSideAvailable()) {
+                    bootstrap.option(ChannelOption.TCP_FASTOPEN, epoll.getTcpFastOpen());
+                } else {
+                    log.warn("TCP_FASTOPEN is not supported by the kernel, ignored");
+                }
+            }
+        }
+    }
+
+    static class IOUringTransport extends ServerTransport {
+
+        @Override
+        public String getName() {
+            return "io_uring";
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads) {
+            return new IOUringEventLoopGroup(nThreads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass() {
+            return IOUringServerSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return true;
+        }
+
+        /**
+         * io_uring传输暂不支持FileRegion，文件改为分块写出
+         */
+        @Override
+        public boolean supportsFileRegion() {
+            return false;
+        }
+    }
+}
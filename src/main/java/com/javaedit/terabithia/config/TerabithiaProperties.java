@@ -1,10 +1,17 @@
 package com.javaedit.terabithia.config;
 
+import com.javaedit.terabithia.handler.web.SseOverflowPolicy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author wjw
  * @description: 配置
@@ -22,4 +29,378 @@ public class TerabithiaProperties {
      */
     private Integer port;
 
+    /**
+     * Netty transport: auto, epoll, io_uring or nio. The io_uring transport does not
+     * support sendfile, so static resources and file downloads are copied through
+     * user space in chunks instead of using a zero-copy FileRegion.
+     */
+    private TransportType transport = TransportType.AUTO;
+
+    /**
+     * Number of boss (accept) threads.
+     */
+    private int bossThreads = 1;
+
+    /**
+     * Number of worker (I/O) threads, 0 uses Netty's default of twice the available processors.
+     */
+    private int workerThreads = 0;
+
+    /**
+     * Number of server channels bound to the port with SO_REUSEPORT, so the kernel spreads
+     * incoming connections across them. Only honored by the epoll and io_uring transports.
+     */
+    private int acceptors = 1;
+
+    /**
+     * Epoll-only options, ignored by other transports.
+     */
+    private final Epoll epoll = new Epoll();
+
+    /**
+     * Write batching of responses.
+     */
+    private final Flush flush = new Flush();
+
+    /**
+     * Request body handling.
+     */
+    private final Body body = new Body();
+
+    /**
+     * Multipart upload handling.
+     */
+    private final Multipart multipart = new Multipart();
+
+    /**
+     * Static resources served from the file system.
+     */
+    private final Resources resources = new Resources();
+
+    /**
+     * Response compression.
+     */
+    private final Compression compression = new Compression();
+
+    /**
+     * HTTP/2 over cleartext (h2c).
+     */
+    private final Http2 http2 = new Http2();
+
+    /**
+     * JSON serialization of response bodies.
+     */
+    private final Json json = new Json();
+
+    /**
+     * Where handler methods are invoked.
+     */
+    private final Dispatch dispatch = new Dispatch();
+
+    /**
+     * HTTP/1.1 pipelining.
+     */
+    private final Pipelining pipelining = new Pipelining();
+
+    /**
+     * Handlers returning CompletionStage.
+     */
+    private final Async async = new Async();
+
+    /**
+     * Server-Sent Events returned as SseEmitter.
+     */
+    private final Sse sse = new Sse();
+
+    /**
+     * WebSocket endpoints declared with {@code @WebSocketMapping}.
+     */
+    private final WebSocket websocket = new WebSocket();
+
+    /**
+     * Named executor bulkheads referenced by {@code @Blocking("name")}.
+     */
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Epoll {
+
+        /**
+         * TCP_FASTOPEN queue length of the server socket, 0 disables it.
+         */
+        private int tcpFastOpen = 0;
+
+        /**
+         * Use edge-triggered mode, level-triggered otherwise.
+         */
+        private boolean edgeTriggered = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Flush {
+
+        /**
+         * Only write responses produced while reading a batch of requests and flush them once
+         * when the read completes.
+         */
+        private boolean consolidate = true;
+
+        /**
+         * Maximum number of pending flushes before a flush is forced within a read batch.
+         */
+        private int maxPendingFlushes = 256;
+
+        /**
+         * Also consolidate flushes issued outside of a read, e.g. responses written by handler
+         * threads. They are then flushed from a task scheduled on the event loop.
+         */
+        private boolean consolidateWhenNoReadInProgress = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Body {
+
+        /**
+         * Maximum size in bytes of an aggregated request body, can be overridden per route
+         * with {@code @RequestMapping(maxContentLength = ...)}.
+         */
+        private int maxContentLength = 65536;
+
+        /**
+         * Bytes a streaming request body may buffer before reading from the socket is paused.
+         */
+        private int streamBufferSize = 1024 * 1024;
+
+        /**
+         * Milliseconds a handler waits for the next piece of a streaming request body.
+         */
+        private long streamReadTimeout = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class Multipart {
+
+        /**
+         * Size in bytes above which an uploaded part is written to a temp file instead of kept in memory.
+         */
+        private long memoryThreshold = 16384;
+
+        /**
+         * Directory of the temp files, the system temp directory when empty.
+         */
+        private String location = "";
+
+        /**
+         * Maximum size in bytes of a single uploaded part, -1 for no limit.
+         */
+        private long maxFileSize = -1;
+    }
+
+    @Getter
+    @Setter
+    public static class Resources {
+
+        /**
+         * URL prefix of static resources.
+         */
+        private String pathPrefix = "/static/";
+
+        /**
+         * File system directories searched in order for static resources, serving is disabled when empty.
+         */
+        private List<String> locations = new ArrayList<>();
+
+        /**
+         * Files up to this size in bytes are cached in direct memory.
+         */
+        private int cacheMaxFileSize = 65536;
+
+        /**
+         * Total size in bytes of the in-memory cache, 0 disables it.
+         */
+        private long cacheMaxSize = 16 * 1024 * 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Compression {
+
+        /**
+         * Compress responses according to the Accept-Encoding request header.
+         */
+        private boolean enabled = false;
+
+        /**
+         * gzip/deflate compression level, 1 (fastest) to 9 (smallest).
+         */
+        private int level = 6;
+
+        /**
+         * Responses with a body smaller than this many bytes are not compressed.
+         */
+        private int minResponseSize = 1024;
+
+        /**
+         * Content types that are already compressed, an entry ending with "/" matches the whole type.
+         */
+        private List<String> excludedMimeTypes = new ArrayList<>(Arrays.asList(
+                "image/png", "image/jpeg", "image/gif", "image/webp", "video/", "audio/",
+                "application/zip", "application/gzip", "application/x-gzip", "application/pdf",
+                "font/woff", "font/woff2"));
+
+        /**
+         * Offer brotli when brotli4j is on the classpath.
+         */
+        private boolean brotli = true;
+
+        /**
+         * Serve a precompressed file.br or file.gz next to a static file when the client accepts it.
+         */
+        private boolean precompressed = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Http2 {
+
+        /**
+         * Accept h2c upgrade and prior-knowledge HTTP/2 connections.
+         */
+        private boolean enabled = false;
+
+        /**
+         * SETTINGS_MAX_CONCURRENT_STREAMS advertised to clients.
+         */
+        private long maxConcurrentStreams = 100;
+
+        /**
+         * SETTINGS_INITIAL_WINDOW_SIZE of each stream in bytes.
+         */
+        private int initialWindowSize = 65535;
+    }
+
+    @Getter
+    @Setter
+    public static class Json {
+
+        /**
+         * Bytecode-generating Jackson module registered on the shared ObjectMapper. The module
+         * jar has to be added to the classpath, the setting is ignored otherwise.
+         */
+        private JsonBytecodeModule bytecodeModule = JsonBytecodeModule.NONE;
+    }
+
+    @Getter
+    @Setter
+    public static class Pipelining {
+
+        /**
+         * Maximum number of requests per connection that are dispatched but not yet answered,
+         * reading from the socket pauses when it is reached. Responses are always written in
+         * request order.
+         */
+        private int maxInFlight = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Time in milliseconds to wait for a CompletionStage returned by a handler before
+         * responding with 503 and cancelling it, 0 or less waits indefinitely.
+         */
+        private long timeout = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class Sse {
+
+        /**
+         * Interval in milliseconds of the comment sent on idle event streams, 0 disables it.
+         */
+        private long heartbeatInterval = 15000;
+
+        /**
+         * Maximum number of events waiting to be written per connection, unless set on the emitter.
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * What to do when the queue of a slow client is full, unless set on the emitter.
+         */
+        private SseOverflowPolicy overflowPolicy = SseOverflowPolicy.DROP_OLDEST;
+    }
+
+    @Getter
+    @Setter
+    public static class WebSocket {
+
+        /**
+         * Maximum payload of a frame and of a message reassembled from fragments, in bytes.
+         */
+        private int maxFramePayloadLength = 65536;
+
+        /**
+         * Negotiate the permessage-deflate extension with clients that offer it.
+         */
+        private boolean compression = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Dispatch {
+
+        /**
+         * event_loop runs handlers on the Netty I/O thread, executor runs them on a business executor.
+         */
+        private DispatchMode mode = DispatchMode.EVENT_LOOP;
+
+        /**
+         * Number of threads of the business executor.
+         */
+        private int threads = 200;
+
+        /**
+         * Maximum number of requests waiting for a business thread, further requests get a 503.
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * Use a virtual thread per request instead of the pool, requires JDK 21+.
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * Maximum number of handlers running on virtual threads at the same time, further requests get a 503.
+         */
+        private int virtualThreadsMaxConcurrency = 1000;
+
+        /**
+         * How handler methods are called: reflection to use Method.invoke, or the experimental
+         * method_handle, which has not been measured to be faster than reflection.
+         */
+        private InvocationStrategy invocation = InvocationStrategy.REFLECTION;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Number of threads of the bulkhead.
+         */
+        private int threads = 10;
+
+        /**
+         * Maximum number of requests waiting in the bulkhead, further requests get a 503.
+         */
+        private int queueCapacity = 100;
+    }
+
 }
@@ -0,0 +1,31 @@
+package com.javaedit.terabithia.config;
+
+/**
+ * @author wjw
+ * @description: netty传输层类型
+ * @title: TransportType
+ * @date 2026/10/18 10:12
+ */
+public enum TransportType {
+
+    /**
+     * 优先使用native传输，不可用时退回NIO
+     */
+    AUTO,
+
+    /**
+     * linux epoll（不可用时退回NIO）
+     */
+    EPOLL,
+
+    /**
+     * linux io_uring，需要5.9以上内核（不可用时依次退回epoll、NIO）
+     */
+    IO_URING,
+
+    /**
+     * JDK NIO
+     */
+    NIO
+
+}
@@ -1,19 +1,35 @@
 package com.javaedit.terabithia.example.controller;
 
+import com.javaedit.terabithia.annotation.Blocking;
 import com.javaedit.terabithia.annotation.Controller;
+import com.javaedit.terabithia.annotation.NonBlocking;
+import com.javaedit.terabithia.annotation.PathVariable;
+import com.javaedit.terabithia.annotation.RequestBody;
 import com.javaedit.terabithia.annotation.RequestMapping;
 import com.javaedit.terabithia.annotation.ResponseBody;
 import com.javaedit.terabithia.annotation.RestController;
 import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.netty.StreamingRequestBody;
+import com.javaedit.terabithia.handler.web.MultipartFile;
+import com.javaedit.terabithia.handler.web.SseEmitter;
 import com.javaedit.terabithia.method.annotation.RequestMethod;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.multipart.*;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * @author wjw
@@ -48,6 +64,7 @@ public class HelloController {
         return "123";
     }
 
+    @NonBlocking
     @ResponseBody
     @RequestMapping(value = "/testJson")
     public Object testJson(FullHttpRequest request) {
@@ -55,4 +72,186 @@ public class HelloController {
         Map<String, Object> map = new HashMap<>();
         return map;
     }
+
+    /**
+     * 模拟调用慢的下游服务，在名为slow的隔离池中执行
+     */
+    @Blocking("slow")
+    @RequestMapping(value = "/testBlocking")
+    public String testBlocking() throws Exception {
+        Thread.sleep(100);
+        return Thread.currentThread().getName();
+    }
+
+    /**
+     * json请求体绑定到参数，按参数的泛型类型解析
+     * request: curl -H "Content-Type: application/json" -d '[{"name":"a"},{"name":"b"}]' localhost:8080/hello/testRequestBody
+     */
+    @RequestMapping(value = "/testRequestBody", method = {RequestMethod.POST})
+    public Map<String, Object> testRequestBody(@RequestBody List<Map<String, Object>> items) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", items.size());
+        result.put("items", items);
+        return result;
+    }
+
+    /**
+     * 批量导入，json数组的元素边收边解析，不会把整个数组放进内存
+     * request: curl -H "Content-Type: application/json" --data-binary @items.json localhost:8080/hello/testIngest
+     */
+    @RequestMapping(value = "/testIngest", method = {RequestMethod.POST})
+    public Map<String, Object> testIngest(@RequestBody Stream<Map<String, Object>> items) {
+        long[] count = new long[1];
+        items.forEach(item -> count[0]++);
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", count[0]);
+        result.put("thread", Thread.currentThread().getName());
+        return result;
+    }
+
+    /**
+     * 异步返回，等待下游时不占用线程，future完成后再写出响应，超过terabithia.async.timeout时返回503
+     * request: curl "localhost:8080/hello/testAsync?delay=100"
+     */
+    @NonBlocking
+    @RequestMapping(value = "/testAsync", method = {RequestMethod.GET})
+    public CompletableFuture<Map<String, Object>> testAsync(Long delay) {
+        long start = System.currentTimeMillis();
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        // 模拟异步调用下游服务
+        GlobalEventExecutor.INSTANCE.schedule(() -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("elapsed", System.currentTimeMillis() - start);
+            result.put("thread", Thread.currentThread().getName());
+            future.complete(result);
+        }, delay == null ? 100 : delay, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * 路径变量，orderId只匹配数字
+     * request: curl "localhost:8080/hello/orders/42/items/3"
+     */
+    @NonBlocking
+    @RequestMapping(value = "/orders/{orderId:\\d+}/items/{index}", method = {RequestMethod.GET})
+    public Map<String, Object> testPathVariable(@PathVariable Long orderId, @PathVariable("index") int index) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("orderId", orderId);
+        result.put("index", index);
+        return result;
+    }
+
+    /**
+     * 同一个路径按请求方法映射到不同的handler，其他方法返回405，不同的handler可以使用不同的变量名
+     * request: curl "localhost:8080/hello/orders/42"
+     * request: curl -X DELETE "localhost:8080/hello/orders/42"
+     */
+    @NonBlocking
+    @RequestMapping(value = "/orders/{orderId:\\d+}", method = {RequestMethod.GET})
+    public Map<String, Object> testGetOrder(@PathVariable Long orderId) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("orderId", orderId);
+        return result;
+    }
+
+    @NonBlocking
+    @RequestMapping(value = "/orders/{id:\\d+}", method = {RequestMethod.DELETE})
+    public Map<String, Object> testDeleteOrder(@PathVariable Long id) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("deleted", id);
+        return result;
+    }
+
+    /**
+     * Server-Sent Events，每隔interval毫秒推送一个事件，推送count个后结束，客户端断开时停止推送
+     * request: curl -N "localhost:8080/hello/testSse?count=10&interval=500"
+     */
+    @NonBlocking
+    @RequestMapping(value = "/testSse", method = {RequestMethod.GET})
+    public SseEmitter testSse(Integer count, Long interval) {
+        SseEmitter emitter = new SseEmitter();
+        int total = count == null ? 10 : count;
+        AtomicInteger sent = new AtomicInteger();
+        ScheduledFuture<?> task = GlobalEventExecutor.INSTANCE.scheduleAtFixedRate(() -> {
+            int i = sent.incrementAndGet();
+            try {
+                Map<String, Object> tick = new HashMap<>();
+                tick.put("index", i);
+                tick.put("time", System.currentTimeMillis());
+                emitter.send(SseEmitter.event().id(String.valueOf(i)).name("tick").data(tick));
+                if (i >= total) {
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                // 连接已关闭，onCompletion中会取消任务
+            }
+        }, 0, interval == null ? 1000 : interval, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(() -> task.cancel(false));
+        return emitter;
+    }
+
+    /**
+     * 导出大量数据，元素逐个序列化，以chunked的方式写出，不会在内存中生成整个json。
+     * delay模拟读取每一行都需要等待的数据源，比如数据库游标，读取在业务线程中，不会阻塞IO线程
+     * request: curl "localhost:8080/hello/testExport?count=1000000"
+     * request: curl -H "Accept: application/x-ndjson" "localhost:8080/hello/testExport?count=10&delay=500"
+     */
+    @RequestMapping(value = "/testExport", method = {RequestMethod.GET})
+    public Stream<Map<String, Object>> testExport(Integer count, Long delay) {
+        return IntStream.range(0, count == null ? 10 : count).mapToObj(i -> {
+            if (delay != null) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("name", "row-" + i);
+            return row;
+        });
+    }
+
+    /**
+     * 流式接收请求体，边收边读，不会把整个请求体放进内存
+     * request: curl -X POST --data-binary @bigfile localhost:8080/hello/testUpload
+     */
+    @RequestMapping(value = "/testUpload", method = {RequestMethod.POST})
+    public Map<String, Object> testUpload(StreamingRequestBody body) throws Exception {
+        long[] length = new long[1];
+        body.forEachChunk(chunk -> length[0] += chunk.readableBytes());
+        Map<String, Object> result = new HashMap<>();
+        result.put("length", length[0]);
+        result.put("thread", Thread.currentThread().getName());
+        return result;
+    }
+
+    /**
+     * 上传文件，超过阈值的文件直接写入临时文件，请求结束后删除
+     * request: curl -F "file=@bigfile" -F "desc=test" localhost:8080/hello/testMultipart
+     */
+    @RequestMapping(value = "/testMultipart", method = {RequestMethod.POST})
+    public Map<String, Object> testMultipart(MultipartFile file, String desc) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("desc", desc);
+        if (file != null) {
+            result.put("filename", file.getOriginalFilename());
+            result.put("size", file.getSize());
+            result.put("inMemory", file.isInMemory());
+        }
+        return result;
+    }
+
+    /**
+     * 下载临时目录中的文件，支持Range断点续传
+     * request: curl -O -J "localhost:8080/hello/testDownload?name=bigfile"
+     */
+    @RequestMapping(value = "/testDownload", method = {RequestMethod.GET})
+    public File testDownload(String name) {
+        File dir = new File(System.getProperty("java.io.tmpdir"));
+        File file = new File(dir, name);
+        // 不允许访问临时目录以外的文件
+        return dir.equals(file.getParentFile()) ? file : null;
+    }
 }
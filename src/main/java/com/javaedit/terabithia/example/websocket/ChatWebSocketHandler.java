@@ -0,0 +1,36 @@
+package com.javaedit.terabithia.example.websocket;
+
+import com.javaedit.terabithia.annotation.WebSocketMapping;
+import com.javaedit.terabithia.handler.web.WebSocketHandler;
+import com.javaedit.terabithia.handler.web.WebSocketSession;
+import com.javaedit.terabithia.handler.web.WebSocketSessionGroup;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * @author wjw
+ * @description: 聊天室示例，文本消息广播给所有连接，二进制消息原样返回
+ * request: websocat ws://localhost:8080/ws/chat
+ * @title: ChatWebSocketHandler
+ * @date 2026/10/18 21:50
+ */
+@WebSocketMapping("/ws/chat")
+public class ChatWebSocketHandler implements WebSocketHandler {
+
+    private final WebSocketSessionGroup sessions = new WebSocketSessionGroup("chat");
+
+    @Override
+    public void onOpen(WebSocketSession session) {
+        sessions.add(session);
+    }
+
+    @Override
+    public void onText(WebSocketSession session, String text) {
+        sessions.broadcastText(session.getId() + ": " + text);
+    }
+
+    @Override
+    public void onBinary(WebSocketSession session, ByteBuf data) {
+        // 回调返回后data会被释放，发送前需要retain
+        session.sendBinary(data.retain());
+    }
+}
@@ -0,0 +1,20 @@
+package com.javaedit.terabithia.exception;
+
+/**
+ * Exception to be thrown when an async request times out. Results in a 503 response.
+ *
+ * @author Rossen Stoyanchev
+ * @since 4.2.8
+ */
+@SuppressWarnings("serial")
+public class AsyncRequestTimeoutException extends RuntimeException {
+
+    /**
+     * Create a new AsyncRequestTimeoutException.
+     *
+     * @param msg the detail message
+     */
+    public AsyncRequestTimeoutException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,32 @@
+package com.javaedit.terabithia.exception;
+
+/**
+ * Thrown when the request body cannot be read, e.g. it is missing or is not valid JSON
+ * for the target type. Results in a 400 response.
+ *
+ * @author Arjen Poutsma
+ * @author Juergen Hoeller
+ * @since 3.0
+ */
+@SuppressWarnings("serial")
+public class HttpMessageNotReadableException extends RuntimeException {
+
+    /**
+     * Create a new HttpMessageNotReadableException.
+     *
+     * @param msg the detail message
+     */
+    public HttpMessageNotReadableException(String msg) {
+        super(msg);
+    }
+
+    /**
+     * Create a new HttpMessageNotReadableException.
+     *
+     * @param msg   the detail message
+     * @param cause the root cause (if any)
+     */
+    public HttpMessageNotReadableException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -20,6 +20,9 @@ public class HttpRequestMethodNotSupportedException extends ServletException {
     @Nullable
     private final String[] supportedMethods;
 
+    @Nullable
+    private final String allow;
+
 
     /**
      * Create a new HttpRequestMethodNotSupportedException.
@@ -29,9 +32,23 @@ public class HttpRequestMethodNotSupportedException extends ServletException {
      * @param msg              the detail message
      */
     public HttpRequestMethodNotSupportedException(String method, @Nullable String[] supportedMethods, String msg) {
+        this(method, supportedMethods, null, msg);
+    }
+
+    /**
+     * Create a new HttpRequestMethodNotSupportedException.
+     *
+     * @param method           the unsupported HTTP request method
+     * @param supportedMethods the actually supported HTTP methods
+     * @param allow            the precomputed {@code Allow} header value (may be {@code null})
+     * @param msg              the detail message
+     */
+    public HttpRequestMethodNotSupportedException(String method, @Nullable String[] supportedMethods,
+                                                  @Nullable String allow, String msg) {
         super(msg);
         this.method = method;
         this.supportedMethods = supportedMethods;
+        this.allow = allow;
     }
 
     /**
@@ -53,4 +70,31 @@ public class HttpRequestMethodNotSupportedException extends ServletException {
     public HttpRequestMethodNotSupportedException(String method, @Nullable Collection<String> supportedMethods) {
         this(method, (supportedMethods != null ? StringUtils.toStringArray(supportedMethods) : null));
     }
+
+    /**
+     * Return the HTTP request method that caused the failure.
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Return the actually supported HTTP methods, or {@code null} if not known.
+     */
+    @Nullable
+    public String[] getSupportedMethods() {
+        return this.supportedMethods;
+    }
+
+    /**
+     * Return the value for the {@code Allow} response header, joined from the
+     * supported methods unless it was precomputed.
+     */
+    @Nullable
+    public String getAllow() {
+        if (this.allow == null && this.supportedMethods != null) {
+            return String.join(", ", this.supportedMethods);
+        }
+        return this.allow;
+    }
 }
@@ -0,0 +1,18 @@
+package com.javaedit.terabithia.exception;
+
+/**
+ * @author wjw
+ * @description: json序列化或反序列化失败，保留jackson的原始异常
+ * @title: JsonConvertException
+ * @date 2026/10/18 18:50
+ */
+public class JsonConvertException extends RuntimeException {
+
+    public JsonConvertException(String message) {
+        super(message);
+    }
+
+    public JsonConvertException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.javaedit.terabithia.exception;
+
+import java.io.IOException;
+
+/**
+ * @author wjw
+ * @description: 流式接收的请求体超过了路由的maxContentLength，读取请求体时抛出，返回413并在响应后关闭连接
+ * @title: RequestBodyTooLargeException
+ * @date 2026/10/19 17:10
+ */
+@SuppressWarnings("serial")
+public class RequestBodyTooLargeException extends IOException {
+
+    public RequestBodyTooLargeException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,64 @@
+package com.javaedit.terabithia.handler.executor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * @author wjw
+ * @description: 每个请求一个虚拟线程，用信号量限制同时执行的handler数量，达到上限时立即拒绝，
+ * 和Bulkhead一样由调用方返回503。下游变慢时不会无限制地接收请求，每个请求都持有请求体等缓冲区
+ * @title: BoundedVirtualThreadExecutor
+ * @date 2026/10/19 10:20
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    public BoundedVirtualThreadExecutor(ExecutorService executor, int maxConcurrency) {
+        this.executor = executor;
+        this.maxConcurrency = Math.max(maxConcurrency, 1);
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!this.permits.tryAcquire()) {
+            throw new RejectedExecutionException("Virtual thread executor reached " + this.maxConcurrency + " concurrent handlers");
+        }
+        try {
+            this.executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    this.permits.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return
+     * @apiNote 正在执行的handler数量
+     */
+    public int getActiveCount() {
+        return this.maxConcurrency - this.permits.availablePermits();
+    }
+
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedVirtualThreadExecutor[maxConcurrency=" + maxConcurrency + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package com.javaedit.terabithia.handler.executor;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wjw
+ * @description: 隔离池，线程数和队列长度都有上限，队列满时立即拒绝
+ * @title: Bulkhead
+ * @date 2026/10/18 13:05
+ */
+public class Bulkhead implements Executor {
+
+    private final String name;
+
+    private final ThreadPoolExecutor executor;
+
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                new CustomizableThreadFactory("terabithia-" + name + "-"),
+                (r, e) -> {
+                    throw new RejectedExecutionException("Bulkhead '" + name + "' is full");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        this.executor.execute(command);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead[" + name + ", threads=" + executor.getMaximumPoolSize() + "]";
+    }
+}
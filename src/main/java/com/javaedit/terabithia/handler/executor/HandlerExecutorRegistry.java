@@ -0,0 +1,146 @@
+package com.javaedit.terabithia.handler.executor;
+
+import com.javaedit.terabithia.config.DispatchMode;
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author wjw
+ * @description: 管理执行handler的业务线程池和隔离池
+ * @title: HandlerExecutorRegistry
+ * @date 2026/10/18 11:40
+ */
+@Slf4j
+@Component
+public class HandlerExecutorRegistry implements InitializingBean, DisposableBean {
+
+    private static final String DEFAULT_NAME = "handler";
+
+    @Autowired
+    private TerabithiaProperties properties;
+
+    /**
+     * 默认的业务线程池，开启了业务线程池或者有未指定隔离池的@Blocking路由时才创建
+     */
+    @Nullable
+    private volatile Executor defaultExecutor;
+
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (properties.getDispatch().getMode() == DispatchMode.EXECUTOR) {
+            getBlockingExecutor();
+        }
+        for (Map.Entry<String, TerabithiaProperties.Bulkhead> entry : properties.getBulkheads().entrySet()) {
+            TerabithiaProperties.Bulkhead config = entry.getValue();
+            Bulkhead bulkhead = new Bulkhead(entry.getKey(), config.getThreads(), config.getQueueCapacity());
+            this.bulkheads.put(entry.getKey(), bulkhead);
+            log.info("Created {}", bulkhead);
+        }
+    }
+
+    /**
+     * @return 未开启业务线程池时返回null，表示在IO线程中执行
+     * @apiNote 获取未标注执行方式的handler使用的线程池
+     * @author wjw
+     * @date 2026/10/18 11:42
+     */
+    @Nullable
+    public Executor getDefaultExecutor() {
+        return properties.getDispatch().getMode() == DispatchMode.EXECUTOR ? getBlockingExecutor() : null;
+    }
+
+    /**
+     * @return
+     * @apiNote 获取默认的业务线程池，不存在时创建
+     * @author wjw
+     * @date 2026/10/18 13:10
+     */
+    public Executor getBlockingExecutor() {
+        Executor executor = this.defaultExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.defaultExecutor;
+                if (executor == null) {
+                    executor = createDefaultExecutor(properties.getDispatch());
+                    this.defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @param name
+     * @return
+     * @apiNote 根据名称获取隔离池，名称为空时返回默认的业务线程池
+     * @author wjw
+     * @date 2026/10/18 13:12
+     */
+    public Executor getBulkhead(String name) {
+        if (name == null || name.isEmpty()) {
+            return getBlockingExecutor();
+        }
+        Bulkhead bulkhead = this.bulkheads.get(name);
+        if (bulkhead == null) {
+            throw new IllegalStateException("No bulkhead named '" + name + "', configure it under terabithia.bulkheads");
+        }
+        return bulkhead;
+    }
+
+    private Executor createDefaultExecutor(TerabithiaProperties.Dispatch dispatch) {
+        if (dispatch.isVirtualThreads()) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                // 虚拟线程本身没有数量限制，用信号量限制同时执行的handler数量
+                log.info("Handlers are dispatched to virtual threads, at most {} concurrently", dispatch.getVirtualThreadsMaxConcurrency());
+                return new BoundedVirtualThreadExecutor(executor, dispatch.getVirtualThreadsMaxConcurrency());
+            }
+            log.warn("Virtual threads require JDK 21+, falling back to a thread pool");
+        }
+        // 有界队列，队列满时抛出RejectedExecutionException，由调用方返回503
+        Bulkhead executor = new Bulkhead(DEFAULT_NAME, dispatch.getThreads(), dispatch.getQueueCapacity());
+        log.info("Handlers are dispatched to a pool of {} threads", dispatch.getThreads());
+        return executor;
+    }
+
+    /**
+     * @return
+     * @apiNote 通过反射调用Executors.newVirtualThreadPerTaskExecutor，兼容低版本JDK
+     */
+    @Nullable
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        Executor executor = this.defaultExecutor;
+        if (executor instanceof Bulkhead) {
+            ((Bulkhead) executor).shutdown();
+        } else if (executor instanceof BoundedVirtualThreadExecutor) {
+            ((BoundedVirtualThreadExecutor) executor).shutdown();
+        }
+        for (Bulkhead bulkhead : this.bulkheads.values()) {
+            bulkhead.shutdown();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.exception.AsyncRequestTimeoutException;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author wjw
+ * @description: handler返回CompletionStage时的响应，真正的响应在future完成后才生成。
+ * 为了兼容返回FullHttpResponse的处理流程继承了DefaultFullHttpResponse，本身不会被写出
+ * @title: DeferredHttpResponse
+ * @date 2026/10/18 20:20
+ */
+public class DeferredHttpResponse extends DefaultFullHttpResponse {
+
+    /**
+     * handler返回的future，超时时取消
+     */
+    private final CompletableFuture<?> source;
+
+    private final CompletableFuture<FullHttpResponse> response;
+
+    public DeferredHttpResponse(CompletableFuture<?> source, CompletableFuture<FullHttpResponse> response) {
+        super(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+        this.source = source;
+        this.response = response;
+    }
+
+    /**
+     * @return
+     * @apiNote 由handler的返回值生成的响应，失败时是handler或返回值处理器的异常
+     */
+    public CompletableFuture<FullHttpResponse> getResponse() {
+        return response;
+    }
+
+    /**
+     * @return 已经完成时返回false
+     * @apiNote 超时，以AsyncRequestTimeoutException结束等待并取消handler返回的future
+     * @author wjw
+     * @date 2026/10/18 20:22
+     */
+    public boolean timeout() {
+        if (!this.response.completeExceptionally(new AsyncRequestTimeoutException("Async request timed out"))) {
+            return false;
+        }
+        this.source.cancel(true);
+        return true;
+    }
+}
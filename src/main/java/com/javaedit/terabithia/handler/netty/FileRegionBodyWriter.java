@@ -0,0 +1,66 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.util.AttributeKey;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author wjw
+ * @description: 写出文件的一段内容。明文连接且传输层支持时用DefaultFileRegion（sendfile），数据不经过用户态；
+ * 否则用ChunkedNioFile交给ChunkedWriteHandler分块写出
+ * @title: FileRegionBodyWriter
+ * @date 2026/10/18 16:16
+ */
+public class FileRegionBodyWriter implements ResponseBodyWriter {
+
+    /**
+     * 连接的传输层是否支持FileRegion，在初始化连接时设置
+     */
+    public static final AttributeKey<Boolean> FILE_REGION_SUPPORTED = AttributeKey.valueOf("terabithia.fileRegionSupported");
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Path file;
+
+    private final long offset;
+
+    private final long length;
+
+    public FileRegionBodyWriter(Path file, long offset, long length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public ChannelFuture writeBody(ChannelHandlerContext ctx) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (supportsFileRegion(ctx)) {
+                // FileRegion写完后会关闭FileChannel
+                ctx.write(new DefaultFileRegion(channel, offset, length));
+                return ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            }
+            // HttpChunkedInput读完后写出LastHttpContent，并关闭FileChannel
+            return ctx.writeAndFlush(new HttpChunkedInput(new ChunkedNioFile(channel, offset, length, CHUNK_SIZE)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private boolean supportsFileRegion(ChannelHandlerContext ctx) {
+        return Boolean.TRUE.equals(ctx.channel().attr(FILE_REGION_SUPPORTED).get())
+                && ctx.pipeline().get(SslHandler.class) == null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+
+/**
+ * @author wjw
+ * @description: 响应压缩，根据Accept-Encoding选择br、gzip或deflate。
+ * 小于阈值的响应、已经压缩过的内容类型、文件等已知长度的流式响应和206响应不压缩
+ * @title: HttpCompressionHandler
+ * @date 2026/10/18 17:10
+ */
+public class HttpCompressionHandler extends HttpContentCompressor {
+
+    private static final int WINDOW_BITS = 15;
+
+    private static final int MEM_LEVEL = 8;
+
+    private static final String EVENT_STREAM = "text/event-stream";
+
+    private final List<String> excludedMimeTypes;
+
+    public HttpCompressionHandler(TerabithiaProperties.Compression compression) {
+        super(compression.getMinResponseSize(), compressionOptions(compression));
+        this.excludedMimeTypes = new ArrayList<>(compression.getExcludedMimeTypes().size());
+        for (String mimeType : compression.getExcludedMimeTypes()) {
+            this.excludedMimeTypes.add(mimeType.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static CompressionOptions[] compressionOptions(TerabithiaProperties.Compression compression) {
+        List<CompressionOptions> options = new ArrayList<>(3);
+        // brotli需要brotli4j，不在classpath中时只使用gzip和deflate
+        if (compression.isBrotli() && Brotli.isAvailable()) {
+            options.add(StandardCompressionOptions.brotli());
+        }
+        options.add(StandardCompressionOptions.gzip(compression.getLevel(), WINDOW_BITS, MEM_LEVEL));
+        options.add(StandardCompressionOptions.deflate(compression.getLevel(), WINDOW_BITS, MEM_LEVEL));
+        return options.toArray(new CompressionOptions[0]);
+    }
+
+    @Override
+    protected Result beginEncode(HttpResponse response, String acceptEncoding) throws Exception {
+        // 范围请求的响应是原始内容的一部分，压缩后Content-Range就不对了
+        if (response.status().equals(HttpResponseStatus.PARTIAL_CONTENT)) {
+            return null;
+        }
+        // 文件等流式响应的长度已知，响应体可能是FileRegion，无法压缩
+        if (!(response instanceof FullHttpResponse) && response.headers().contains(CONTENT_LENGTH)) {
+            return null;
+        }
+        String contentType = response.headers().get(CONTENT_TYPE);
+        // 事件流压缩后会被压缩器缓冲，事件不能及时到达客户端
+        if (contentType != null && contentType.regionMatches(true, 0, EVENT_STREAM, 0, EVENT_STREAM.length())) {
+            return null;
+        }
+        if (isExcluded(contentType)) {
+            return null;
+        }
+        response.headers().set(VARY, ACCEPT_ENCODING);
+        return super.beginEncode(response, acceptEncoding);
+    }
+
+    private boolean isExcluded(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mimeType = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        for (String excluded : this.excludedMimeTypes) {
+            if (excluded.endsWith("/") ? mimeType.startsWith(excluded) : mimeType.equals(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
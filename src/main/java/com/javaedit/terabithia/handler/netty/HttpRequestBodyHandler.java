@@ -0,0 +1,298 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.exception.RequestBodyTooLargeException;
+import com.javaedit.terabithia.method.RequestBodyMode;
+import com.javaedit.terabithia.method.annotation.RequestMappingHandlerMapping;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+
+import java.nio.channels.ClosedChannelException;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.EXPECT;
+
+/**
+ * @author wjw
+ * @description: 在HttpObjectAggregator之前根据路由决定请求体的接收方式。
+ * 流式接收的路由在收到请求头时就分发，请求体逐块交给StreamingRequestBody；multipart路由边收边解码，文件直接写入临时文件，
+ * 解码完成后分发；其他路由交给HttpObjectAggregator聚合，并按路由的maxContentLength限制大小
+ * @title: HttpRequestBodyHandler
+ * @date 2026/10/18 14:50
+ */
+@Slf4j
+public class HttpRequestBodyHandler extends ChannelInboundHandlerAdapter {
+
+    private static final int MULTIPART_DISCARD_THRESHOLD = 1024 * 1024;
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    private final TerabithiaProperties properties;
+
+    /**
+     * 创建multipart的表单字段和上传文件，超过阈值的写入临时文件
+     */
+    private final DefaultHttpDataFactory httpDataFactory;
+
+    /**
+     * 当前请求的请求头
+     */
+    private HttpRequest request;
+
+    /**
+     * 当前正在流式接收的请求体
+     */
+    private StreamingRequestBody body;
+
+    /**
+     * 当前正在解码的multipart请求
+     */
+    private HttpRequest multipartRequest;
+
+    private HttpPostRequestDecoder multipartDecoder;
+
+    /**
+     * 当前请求体的最大字节数，小于0表示不限制
+     */
+    private long maxContentLength = -1;
+
+    /**
+     * 当前请求已经收到的字节数
+     */
+    private long receivedLength;
+
+    /**
+     * 请求体超过限制后丢弃剩余的数据
+     */
+    private boolean discarding;
+
+    /**
+     * 有请求被拒绝后，错误响应写出时会关闭连接，之后收到的数据全部丢弃
+     */
+    private boolean rejected;
+
+    public HttpRequestBodyHandler(ApplicationContext context) {
+        this.handlerMapping = context.getBean(RequestMappingHandlerMapping.class);
+        this.properties = context.getBean(TerabithiaProperties.class);
+        this.httpDataFactory = createHttpDataFactory(properties.getMultipart());
+    }
+
+    private DefaultHttpDataFactory createHttpDataFactory(TerabithiaProperties.Multipart multipart) {
+        DefaultHttpDataFactory factory = new DefaultHttpDataFactory(multipart.getMemoryThreshold());
+        if (multipart.getLocation() != null && !multipart.getLocation().isEmpty()) {
+            factory.setBaseDir(multipart.getLocation());
+        }
+        // 临时文件在请求释放时删除，不需要deleteOnExit，否则每个文件都会在JVM中留下记录
+        factory.setDeleteOnExit(false);
+        factory.setMaxLimit(multipart.getMaxFileSize());
+        return factory;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (this.rejected) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest)) {
+            onRequest(ctx, (HttpRequest) msg);
+        } else if (msg instanceof HttpContent && !(msg instanceof FullHttpRequest)) {
+            onContent(ctx, (HttpContent) msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private void onRequest(ChannelHandlerContext ctx, HttpRequest request) {
+        this.request = request;
+        this.body = null;
+        destroyMultipart();
+        this.receivedLength = 0;
+        this.discarding = false;
+
+        RequestMappingHandlerMapping.MappingRegistration registration = lookupRegistration(request);
+        RequestBodyMode bodyMode = registration == null ? RequestBodyMode.AGGREGATE : registration.getBodyMode();
+        if (bodyMode == RequestBodyMode.MULTIPART && !HttpPostRequestDecoder.isMultipart(request)) {
+            // multipart路由收到普通表单时仍然聚合
+            bodyMode = RequestBodyMode.AGGREGATE;
+        }
+        if (registration == null) {
+            // 没有匹配的路由也需要聚合，由HttpServerHandler返回404
+            this.maxContentLength = properties.getBody().getMaxContentLength();
+        } else if (registration.getMaxContentLength() < 0 && bodyMode == RequestBodyMode.AGGREGATE) {
+            this.maxContentLength = properties.getBody().getMaxContentLength();
+        } else {
+            this.maxContentLength = registration.getMaxContentLength();
+        }
+
+        if (this.maxContentLength >= 0 && HttpUtil.getContentLength(request, -1L) > this.maxContentLength) {
+            this.discarding = true;
+            if (request instanceof HttpContent) {
+                ReferenceCountUtil.release(request);
+            }
+            sendTooLarge(ctx);
+            return;
+        }
+
+        if (bodyMode == RequestBodyMode.AGGREGATE) {
+            // 100-continue由HttpObjectAggregator处理
+            ctx.fireChannelRead(request);
+            return;
+        }
+
+        if (HttpUtil.is100ContinueExpected(request)) {
+            ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+            request.headers().remove(EXPECT);
+        }
+        if (bodyMode == RequestBodyMode.MULTIPART) {
+            this.multipartRequest = request;
+            this.multipartDecoder = new HttpPostRequestDecoder(this.httpDataFactory, request);
+            // 已解码的数据及时丢弃，避免大文件上传时未解码的缓冲区一直增长
+            this.multipartDecoder.setDiscardThreshold(MULTIPART_DISCARD_THRESHOLD);
+            return;
+        }
+        TerabithiaProperties.Body config = properties.getBody();
+        this.body = new StreamingRequestBody(ctx.channel(), config.getStreamBufferSize(), config.getStreamReadTimeout());
+        // 请求头交给后续的handler立即分发，content为空，请求体通过StreamingRequestBody读取
+        ctx.fireChannelRead(new ParamWrapperRequest(headOnly(request), this.body));
+    }
+
+    /**
+     * @param request
+     * @return
+     * @apiNote 用请求头创建content为空的FullHttpRequest，请求体由StreamingRequestBody或解码器提供
+     */
+    private FullHttpRequest headOnly(HttpRequest request) {
+        DefaultFullHttpRequest headOnly = new DefaultFullHttpRequest(request.protocolVersion(), request.method(),
+                request.uri(), Unpooled.buffer(0), request.headers(), new DefaultHttpHeaders());
+        headOnly.setDecoderResult(request.decoderResult());
+        return headOnly;
+    }
+
+    private void onContent(ChannelHandlerContext ctx, HttpContent content) {
+        if (this.discarding) {
+            content.release();
+            return;
+        }
+        this.receivedLength += content.content().readableBytes();
+        if (this.maxContentLength >= 0 && this.receivedLength > this.maxContentLength) {
+            content.release();
+            this.discarding = true;
+            if (this.body != null) {
+                // 流式请求已经分发，读取请求体的handler收到异常后返回413，响应写出后关闭连接
+                this.body.fail(new RequestBodyTooLargeException("Request body exceeds " + this.maxContentLength + " bytes"));
+                this.body = null;
+                this.rejected = true;
+            } else {
+                destroyMultipart();
+                sendTooLarge(ctx);
+            }
+            return;
+        }
+        if (this.multipartDecoder != null) {
+            offerMultipart(ctx, content);
+            return;
+        }
+        if (this.body == null) {
+            ctx.fireChannelRead(content);
+            return;
+        }
+        // ByteBuf的所有权转移给请求体
+        this.body.offer(content.content());
+        if (content instanceof LastHttpContent) {
+            this.body.complete();
+            this.body = null;
+        }
+    }
+
+    /**
+     * @param ctx
+     * @param content
+     * @return
+     * @apiNote 解码multipart请求体，请求体接收完毕后分发，解码器的所有权转移给请求
+     * @author wjw
+     * @date 2026/10/18 15:55
+     */
+    private void offerMultipart(ChannelHandlerContext ctx, HttpContent content) {
+        try {
+            this.multipartDecoder.offer(content);
+        } catch (HttpPostRequestDecoder.ErrorDataDecoderException e) {
+            log.warn("Decode multipart request failed, uri:{}", this.multipartRequest.uri(), e);
+            destroyMultipart();
+            this.discarding = true;
+            sendError(ctx, HttpResponseStatus.BAD_REQUEST);
+            return;
+        } finally {
+            content.release();
+        }
+        if (content instanceof LastHttpContent) {
+            HttpPostRequestDecoder decoder = this.multipartDecoder;
+            FullHttpRequest request = headOnly(this.multipartRequest);
+            this.multipartDecoder = null;
+            this.multipartRequest = null;
+            ctx.fireChannelRead(new ParamWrapperRequest(request, decoder));
+        }
+    }
+
+    private void destroyMultipart() {
+        if (this.multipartDecoder != null) {
+            // 删除已经写入的临时文件
+            this.multipartDecoder.destroy();
+            this.multipartDecoder = null;
+            this.multipartRequest = null;
+        }
+    }
+
+    private RequestMappingHandlerMapping.MappingRegistration lookupRegistration(HttpRequest request) {
+        if (!request.decoderResult().isSuccess()) {
+            return null;
+        }
+        try {
+            return handlerMapping.lookupRegistration(request);
+        } catch (Exception e) {
+            log.debug("Lookup handler failed, uri:{}", request.uri(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @param ctx
+     * @return
+     * @apiNote 请求体超过限制，返回413并关闭连接
+     * @author wjw
+     * @date 2026/10/18 14:58
+     */
+    private void sendTooLarge(ChannelHandlerContext ctx) {
+        sendError(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    /**
+     * @param ctx
+     * @param status
+     * @return
+     * @apiNote 拒绝当前请求，错误响应由HttpServerHandler按请求顺序写出，前面的响应都写出后再关闭连接
+     * @author wjw
+     * @date 2026/10/19 17:15
+     */
+    private void sendError(ChannelHandlerContext ctx, HttpResponseStatus status) {
+        this.rejected = true;
+        ctx.fireChannelRead(new RejectedHttpRequest(this.request, status));
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (this.body != null) {
+            // 唤醒正在读取请求体的业务线程
+            this.body.fail(new ClosedChannelException());
+            this.body = null;
+        }
+        destroyMultipart();
+        super.channelInactive(ctx);
+    }
+}
@@ -1,16 +1,41 @@
 package com.javaedit.terabithia.handler.netty;
 
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.exception.AsyncRequestTimeoutException;
+import com.javaedit.terabithia.exception.HttpMessageNotReadableException;
+import com.javaedit.terabithia.exception.HttpRequestMethodNotSupportedException;
+import com.javaedit.terabithia.exception.RequestBodyTooLargeException;
+import com.javaedit.terabithia.exception.ServletException;
+import com.javaedit.terabithia.handler.executor.HandlerExecutorRegistry;
 import com.javaedit.terabithia.handler.web.HandlerExecutionChain;
+import com.javaedit.terabithia.handler.web.ResourceHttpRequestHandler;
+import com.javaedit.terabithia.handler.web.WebSocketHandler;
 import com.javaedit.terabithia.method.annotation.RequestMappingHandlerAdapter;
 import com.javaedit.terabithia.method.annotation.RequestMappingHandlerMapping;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
+import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
+import io.netty.util.ReferenceCountUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
 
+import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
 import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
@@ -18,7 +43,8 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
 /**
  * @author wjw
- * @description: netty的http请求处理器
+ * @description: netty的http请求处理器。每个连接一个实例，请求按到达顺序编号，
+ * 在业务线程中执行的请求可能乱序完成，先完成的响应暂存起来，按编号顺序写出（HTTP/1.1 pipelining）
  * @title: HttpServerHandler
  * @date 2022/6/14 10:34
  */
@@ -28,17 +54,186 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
     private ApplicationContext context;
     private RequestMappingHandlerMapping handlerMapping;
     private RequestMappingHandlerAdapter handlerAdapter;
+    private ResourceHttpRequestHandler resourceHandler;
+    private HandlerExecutorRegistry executorRegistry;
+    private final int maxInFlight;
+    private final long asyncTimeout;
+    private final TerabithiaProperties.WebSocket websocket;
+
+    /*
+     * 以下字段只在IO线程中访问
+     * 下一个分发的请求的编号，请求按到达顺序分发
+     */
+    private long dispatchSequence;
+    /*
+     * 下一个要写出的响应的编号
+     */
+    private long writeSequence;
+    /*
+     * 已完成但还没轮到写出的响应，key为请求编号
+     */
+    private final Map<Long, PendingResponse> pendingResponses = new HashMap<>();
+    /*
+     * 未响应的请求达到上限后收到的请求，一次读取中可能解码出多个请求，暂停读取也不能阻止它们到达
+     */
+    private final Queue<ParamWrapperRequest> queuedRequests = new ArrayDeque<>();
+    /*
+     * 是否正在分发排队的请求，handler在IO线程中同步返回时会重入
+     */
+    private boolean dispatchingQueued;
 
     public HttpServerHandler(ApplicationContext context) {
+        // 不自动释放收到的请求，由channelRead0释放封装后的请求，引用计数归零时才会销毁请求体解码器等资源
+        super(false);
         this.context = context;
         this.handlerMapping = context.getBean(RequestMappingHandlerMapping.class);
         this.handlerAdapter = context.getBean(RequestMappingHandlerAdapter.class);
+        this.resourceHandler = context.getBean(ResourceHttpRequestHandler.class);
+        this.executorRegistry = context.getBean(HandlerExecutorRegistry.class);
+        TerabithiaProperties properties = context.getBean(TerabithiaProperties.class);
+        this.maxInFlight = Math.max(properties.getPipelining().getMaxInFlight(), 1);
+        this.asyncTimeout = properties.getAsync().getTimeout();
+        this.websocket = properties.getWebsocket();
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest fullHttpRequest) throws Exception {
-        FullHttpRequest request = new ParamWrapperRequest(fullHttpRequest);
-        this.doDispatch(ctx, request);
+        // 流式接收请求体的请求在HttpRequestBodyHandler中已经封装过
+        ParamWrapperRequest request = fullHttpRequest instanceof ParamWrapperRequest ?
+                (ParamWrapperRequest) fullHttpRequest : new ParamWrapperRequest(fullHttpRequest);
+        try {
+            // 响应内容从channel的池化allocator中分配
+            request.setAlloc(ctx.alloc());
+            if (upgradeWebSocket(ctx, request)) {
+                return;
+            }
+            if (this.queuedRequests.isEmpty() && inFlight() < this.maxInFlight) {
+                dispatch(ctx, request);
+            } else {
+                // channelRead0返回后请求会被释放，排队前需要retain
+                request.retain();
+                this.queuedRequests.add(request);
+            }
+            // 未响应的请求达到上限时暂停读取，流式请求体还需要继续读取，不能暂停
+            if ((!this.queuedRequests.isEmpty() || inFlight() >= this.maxInFlight) && request.getBody() == null) {
+                ReadThrottle.get(ctx.channel()).pause(ReadThrottle.PIPELINING);
+            }
+        } finally {
+            request.release();
+        }
+    }
+
+    /**
+     * @param ctx
+     * @param request
+     * @return 不是WebSocket的升级请求时返回false
+     * @apiNote 升级请求匹配到@WebSocketMapping时，把处理HTTP消息的handler替换为WebSocket的handler，
+     * 再把升级请求交给它完成握手。HTTP/2的stream不支持升级
+     * @author wjw
+     * @date 2026/10/18 21:45
+     */
+    private boolean upgradeWebSocket(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        if (!HttpHeaderValues.WEBSOCKET.contentEqualsIgnoreCase(request.headers().get(UPGRADE))
+                || ctx.pipeline().get(HttpServerCodec.class) == null) {
+            return false;
+        }
+        WebSocketHandler handler = this.handlerMapping.lookupWebSocketHandler(request);
+        if (handler == null) {
+            return false;
+        }
+        if (inFlight() > 0 || !this.queuedRequests.isEmpty()) {
+            // 升级后不能再写出前面请求的HTTP响应
+            sendError(ctx, this.dispatchSequence++, HttpResponseStatus.BAD_REQUEST, "WebSocket upgrade must not be pipelined");
+            return true;
+        }
+        if (!handler.beforeHandshake(request)) {
+            sendError(ctx, this.dispatchSequence++, HttpResponseStatus.FORBIDDEN, "Forbidden");
+            return true;
+        }
+        ChannelPipeline pipeline = ctx.pipeline();
+        pipeline.remove(HttpRequestBodyHandler.class);
+        // 开启HTTP/2时HttpServerUpgradeHandler也是HttpObjectAggregator
+        while (pipeline.get(HttpObjectAggregator.class) != null) {
+            pipeline.remove(HttpObjectAggregator.class);
+        }
+        if (pipeline.get(HttpCompressionHandler.class) != null) {
+            pipeline.remove(HttpCompressionHandler.class);
+        }
+        int maxFramePayloadLength = this.websocket.getMaxFramePayloadLength();
+        if (this.websocket.isCompression()) {
+            pipeline.addLast(new WebSocketServerCompressionHandler());
+        }
+        pipeline.addLast(new WebSocketFrameAggregator(maxFramePayloadLength),
+                new WebSocketFrameHandler(handler, maxFramePayloadLength, this.websocket.isCompression()));
+        // 升级请求先经过压缩扩展的协商，再由WebSocketFrameHandler写出101响应
+        ctx.fireChannelRead(request.retain());
+        pipeline.remove(this);
+        return true;
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // 连接已关闭，释放没来得及写出的响应和还没分发的请求
+        for (PendingResponse pending : this.pendingResponses.values()) {
+            ReferenceCountUtil.release(pending.response);
+        }
+        this.pendingResponses.clear();
+        ParamWrapperRequest request;
+        while ((request = this.queuedRequests.poll()) != null) {
+            request.release();
+        }
+        super.channelInactive(ctx);
+    }
+
+    private long inFlight() {
+        return this.dispatchSequence - this.writeSequence;
+    }
+
+    private void dispatch(ChannelHandlerContext ctx, ParamWrapperRequest request) {
+        long sequence = this.dispatchSequence++;
+        if (request.getRequest() instanceof RejectedHttpRequest) {
+            // 在HttpRequestBodyHandler中被拒绝，按请求顺序写出错误响应后关闭连接
+            HttpResponseStatus status = ((RejectedHttpRequest) request.getRequest()).getStatus();
+            sendError(ctx, sequence, status, status.reasonPhrase());
+            return;
+        }
+        try {
+            this.doDispatch(ctx, request, sequence);
+        } catch (Exception ex) {
+            handleException(ctx, sequence, ex, canKeepAlive(request));
+        }
+    }
+
+    /**
+     * @param ctx
+     * @return
+     * @apiNote 有响应写出后分发排队的请求，没有排队的请求且未响应的请求低于上限时恢复读取
+     * @author wjw
+     * @date 2026/10/18 18:15
+     */
+    private void dispatchQueued(ChannelHandlerContext ctx) {
+        if (this.dispatchingQueued) {
+            return;
+        }
+        this.dispatchingQueued = true;
+        boolean streaming = false;
+        try {
+            while (!this.queuedRequests.isEmpty() && inFlight() < this.maxInFlight && ctx.channel().isActive()) {
+                ParamWrapperRequest request = this.queuedRequests.poll();
+                streaming |= request.getBody() != null;
+                try {
+                    dispatch(ctx, request);
+                } finally {
+                    request.release();
+                }
+            }
+        } finally {
+            this.dispatchingQueued = false;
+        }
+        if (streaming || this.queuedRequests.isEmpty() && inFlight() < this.maxInFlight) {
+            // 流式请求体缓冲太多时仍然暂停
+            ReadThrottle.get(ctx.channel()).resume(ReadThrottle.PIPELINING);
+        }
     }
 
     @Override
@@ -46,34 +241,175 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
         ctx.flush();
     }
 
-    private void doDispatch(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
-        HandlerExecutionChain mappedHandler = null;
+    private void doDispatch(ChannelHandlerContext ctx, FullHttpRequest request, long sequence) throws Exception {
+        HandlerExecutionChain mappedHandler = this.handlerMapping.getHandler(request);
+        if (mappedHandler == null) {
+            // 没有匹配的handler时查找静态资源
+            FullHttpResponse response = resourceHandler.handleRequest(request);
+            if (response == null) {
+                noHandlerFound(ctx, sequence);
+            } else {
+                processDispatchResult(ctx, request, sequence, response, null);
+            }
+            return;
+        }
+        Executor executor = mappedHandler.getExecutor();
+        if (executor == null) {
+            invokeHandler(ctx, request, sequence, mappedHandler);
+        } else {
+            dispatchToExecutor(ctx, request, sequence, mappedHandler, executor);
+        }
+    }
+
+    /**
+     * @param ctx
+     * @param request
+     * @param sequence
+     * @param mappedHandler
+     * @param executor
+     * @return
+     * @apiNote 在业务线程池中执行handler，避免阻塞IO线程
+     * @author wjw
+     * @date 2026/10/18 12:05
+     */
+    private void dispatchToExecutor(ChannelHandlerContext ctx, FullHttpRequest request, long sequence, HandlerExecutionChain mappedHandler, Executor executor) {
+        // channelRead0返回后请求会被释放，交给业务线程前需要retain
+        request.retain();
         try {
-            mappedHandler = this.handlerMapping.getHandler(request);
+            executor.execute(() -> {
+                try {
+                    invokeHandler(ctx, request, sequence, mappedHandler);
+                } catch (Exception ex) {
+                    boolean keepAlive = canKeepAlive(request);
+                    ctx.executor().execute(() -> handleException(ctx, sequence, ex, keepAlive));
+                } finally {
+                    request.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            request.release();
+            log.warn("{}, rejecting request {}", ex.getMessage(), request.uri());
+            sendError(ctx, sequence, HttpResponseStatus.SERVICE_UNAVAILABLE, "Service Unavailable");
+        }
+    }
 
-            if (mappedHandler == null) {
-                noHandlerFound(ctx);
-                return;
-            }
+    /**
+     * @param ctx
+     * @param request
+     * @param sequence
+     * @param mappedHandler
+     * @return
+     * @apiNote 执行拦截器和handler，可能在IO线程或者业务线程中执行
+     * @author wjw
+     * @date 2026/10/18 12:06
+     */
+    private void invokeHandler(ChannelHandlerContext ctx, FullHttpRequest request, long sequence, HandlerExecutionChain mappedHandler) throws Exception {
+        try {
             // 执行拦截器-前置方法
             if (!mappedHandler.applyPreHandle(ctx, request)) {
+                // 拦截器已经自行处理了响应，跳过这个请求的编号，避免后面的响应一直等待
+                writeInOrder(ctx, sequence, null, true);
                 return;
             }
             // 执行handler
             FullHttpResponse response = handlerAdapter.handle(request, mappedHandler.getHandler());
+            if (response instanceof DeferredHttpResponse) {
+                // handler返回了CompletionStage，完成后再执行拦截器的后置方法和写出响应
+                awaitDeferredResponse(ctx, request, sequence, mappedHandler, (DeferredHttpResponse) response);
+                return;
+            }
 
             // 执行拦截器-后置方法
-            mappedHandler.applyPostHandle(ctx, request, response);
+            try {
+                mappedHandler.applyPostHandle(ctx, request, response);
+            } catch (Exception ex) {
+                // 响应内容是池化的，不再写出时需要释放
+                response.release();
+                throw ex;
+            }
 
-            processDispatchResult(ctx, request, response, mappedHandler);
+            processDispatchResult(ctx, request, sequence, response, mappedHandler);
+            // 响应已经交给IO线程，在执行handler的线程中产生响应体
+            produceBody(ctx, response, ctx.executor().inEventLoop());
         } catch (Exception ex) {
             triggerAfterCompletion(ctx, request, mappedHandler, ex);
         }
     }
 
+    /**
+     * @param ctx
+     * @param response
+     * @param offload  为true时交给业务线程池，比如当前线程是IO线程或者完成future的线程
+     * @return
+     * @apiNote 需要阻塞读取数据源的响应体（如Stream返回值）在当前线程中产生，响应体读取完毕后才返回
+     * @author wjw
+     * @date 2026/10/19 16:40
+     */
+    private void produceBody(ChannelHandlerContext ctx, FullHttpResponse response, boolean offload) {
+        if (!(response instanceof StreamingHttpResponse)) {
+            return;
+        }
+        ResponseBodyWriter bodyWriter = ((StreamingHttpResponse) response).getBodyWriter();
+        if (!offload) {
+            bodyWriter.produce();
+            return;
+        }
+        try {
+            this.executorRegistry.getBlockingExecutor().execute(bodyWriter::produce);
+        } catch (RejectedExecutionException ex) {
+            // 响应头可能已经写出，只能关闭连接
+            log.warn("{}, closing streaming response", ex.getMessage());
+            bodyWriter.discard();
+            ctx.close();
+        }
+    }
+
+    /**
+     * @param ctx
+     * @param request
+     * @param sequence
+     * @param mappedHandler
+     * @param deferred
+     * @return
+     * @apiNote 等待handler返回的future完成，在完成的线程中执行拦截器的后置、完成方法，再按请求顺序写出响应。
+     * 超过terabithia.async.timeout时返回503并取消future
+     * @author wjw
+     * @date 2026/10/18 20:30
+     */
+    private void awaitDeferredResponse(ChannelHandlerContext ctx, FullHttpRequest request, long sequence, HandlerExecutionChain mappedHandler, DeferredHttpResponse deferred) {
+        // 请求在handler返回后会被释放，future完成前需要保留
+        request.retain();
+        ScheduledFuture<?> timeoutTask = this.asyncTimeout > 0 ?
+                ctx.executor().schedule(deferred::timeout, this.asyncTimeout, TimeUnit.MILLISECONDS) : null;
+        deferred.getResponse().whenComplete((response, ex) -> {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            try {
+                if (ex != null) {
+                    throw ex instanceof Exception ? (Exception) ex : new ServletException(ex);
+                }
+                try {
+                    mappedHandler.applyPostHandle(ctx, request, response);
+                } catch (Exception e) {
+                    response.release();
+                    throw e;
+                }
+                processDispatchResult(ctx, request, sequence, response, mappedHandler);
+                produceBody(ctx, response, true);
+            } catch (Exception e) {
+                mappedHandler.triggerAfterCompletion(ctx, request, e);
+                handleException(ctx, sequence, e, canKeepAlive(request));
+            } finally {
+                request.release();
+            }
+        });
+    }
+
     /**
      * @param ctx
      * @param request
+     * @param sequence
      * @param response
      * @param mappedHandler
      * @return
@@ -81,7 +417,7 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
      * @author wjw
      * @date 2022/6/17 11:21
      */
-    private void processDispatchResult(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response, HandlerExecutionChain mappedHandler) {
+    private void processDispatchResult(ChannelHandlerContext ctx, FullHttpRequest request, long sequence, FullHttpResponse response, HandlerExecutionChain mappedHandler) {
         // 执行拦截器-完成方法
         if (mappedHandler != null) {
             mappedHandler.triggerAfterCompletion(ctx, request, null);
@@ -90,10 +426,64 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
         boolean keepAlive = HttpUtil.isKeepAlive(request);
         if (!keepAlive) {
             response.headers().set(CONNECTION, CLOSE);
-            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
         } else {
             response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
-            ctx.writeAndFlush(response);
+        }
+        writeInOrder(ctx, sequence, response, keepAlive);
+    }
+
+    /**
+     * @param ctx
+     * @param sequence
+     * @param response
+     * @param keepAlive
+     * @return
+     * @apiNote 按请求顺序写出响应，前面的请求还没有响应时先暂存。响应统一在IO线程中写出，response为null时只占用编号
+     * @author wjw
+     * @date 2026/10/18 18:10
+     */
+    private void writeInOrder(ChannelHandlerContext ctx, long sequence, @Nullable FullHttpResponse response, boolean keepAlive) {
+        if (!ctx.executor().inEventLoop()) {
+            ctx.executor().execute(() -> writeInOrder(ctx, sequence, response, keepAlive));
+            return;
+        }
+        if (sequence != this.writeSequence) {
+            if (!ctx.channel().isActive()) {
+                ReferenceCountUtil.release(response);
+                return;
+            }
+            this.pendingResponses.put(sequence, new PendingResponse(response, keepAlive));
+            return;
+        }
+        writeResponse(ctx, response, keepAlive);
+        this.writeSequence++;
+        PendingResponse pending;
+        while ((pending = this.pendingResponses.remove(this.writeSequence)) != null) {
+            writeResponse(ctx, pending.response, pending.keepAlive);
+            this.writeSequence++;
+        }
+        dispatchQueued(ctx);
+    }
+
+    private void writeResponse(ChannelHandlerContext ctx, @Nullable FullHttpResponse response, boolean keepAlive) {
+        if (response == null) {
+            return;
+        }
+        ChannelFuture future;
+        if (response instanceof StreamingHttpResponse) {
+            // 响应体由ResponseBodyWriter写出，比如文件
+            try {
+                future = ((StreamingHttpResponse) response).write(ctx);
+            } catch (Exception e) {
+                log.error("write response error ", e);
+                ctx.close();
+                return;
+            }
+        } else {
+            future = ctx.writeAndFlush(response);
+        }
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
         }
     }
 
@@ -116,20 +506,77 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
 
     /**
      * @param ctx
+     * @param sequence
      * @return
      * @apiNote 找不到处理器，则返回404
      * @author wjw
      * @date 2022/6/17 11:13
      */
-    private void noHandlerFound(ChannelHandlerContext ctx) {
-        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, HttpResponseStatus.NOT_FOUND);
-        response.headers().set(CONTENT_TYPE, "text/plain; charset=UTF-8");
-        String result = "http state code:" + response.status().code() + "\nNot Found";
-        response.content().writeBytes(result.getBytes(StandardCharsets.UTF_8));
-        response.headers().setInt(CONTENT_LENGTH, response.content().readableBytes());
+    private void noHandlerFound(ChannelHandlerContext ctx, long sequence) {
+        sendError(ctx, sequence, HttpResponseStatus.NOT_FOUND, "Not Found");
+    }
 
-        response.headers().set(CONNECTION, CLOSE);
-        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    /**
+     * @param ctx
+     * @param sequence
+     * @param ex
+     * @param keepAlive 请求已经完整读取并且客户端要求保持连接，客户端错误（405、400）时不关闭连接
+     * @return
+     * @apiNote 处理handler抛出的异常，按请求顺序返回500
+     * @author wjw
+     * @date 2026/10/18 12:10
+     */
+    private void handleException(ChannelHandlerContext ctx, long sequence, Throwable ex, boolean keepAlive) {
+        // handler抛出的Error仍然包装在InvocationTargetException中，见InvocableHandlerMethod.doInvoke
+        Throwable target = ex instanceof InvocationTargetException ? ex.getCause() : ex;
+        if (target instanceof AsyncRequestTimeoutException) {
+            log.warn("{}, responding with 503", target.getMessage());
+            sendError(ctx, sequence, HttpResponseStatus.SERVICE_UNAVAILABLE, target.getMessage());
+            return;
+        }
+        if (isRequestBodyTooLarge(target)) {
+            // 请求体还没有读完，响应后关闭连接
+            log.debug("request body too large: {}", target.getMessage());
+            sendError(ctx, sequence, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, target.getMessage());
+            return;
+        }
+        if (target instanceof HttpRequestMethodNotSupportedException) {
+            // 路径匹配但请求方法不支持，Allow在注册路由时已经生成
+            FullHttpResponse response = errorResponse(HttpResponseStatus.METHOD_NOT_ALLOWED, target.getMessage(), keepAlive);
+            String allow = ((HttpRequestMethodNotSupportedException) target).getAllow();
+            if (allow != null) {
+                response.headers().set(ALLOW, allow);
+            }
+            writeInOrder(ctx, sequence, response, keepAlive);
+            return;
+        }
+        if (target instanceof HttpMessageNotReadableException) {
+            // 请求体不是合法的json，属于客户端错误
+            log.debug("bad request body: {}", target.getMessage());
+            writeInOrder(ctx, sequence, errorResponse(HttpResponseStatus.BAD_REQUEST, target.getMessage(), keepAlive), keepAlive);
+            return;
+        }
+        if (target instanceof TypeMismatchException) {
+            // 请求参数、路径变量不能转换为参数的类型
+            log.debug("bad request parameter: {}", target.getMessage());
+            writeInOrder(ctx, sequence, errorResponse(HttpResponseStatus.BAD_REQUEST, target.getMessage(), keepAlive), keepAlive);
+            return;
+        }
+        log.error("request error ", target);
+        sendError(ctx, sequence, HttpResponseStatus.INTERNAL_SERVER_ERROR, target.getMessage());
+    }
+
+    /**
+     * @param ex
+     * @return 流式请求体超过限制，解析请求体时可能被包装在其他异常中
+     */
+    private static boolean isRequestBodyTooLarge(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestBodyTooLargeException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -142,16 +589,64 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
      */
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        cause = cause.getCause() == null ? cause : cause.getCause();
+        // 只解开反射调用的包装，其他异常的cause是异常本身的信息，不能丢弃
+        cause = cause instanceof InvocationTargetException && cause.getCause() != null ? cause.getCause() : cause;
         log.error("request error ", cause);
 
-        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+        ctx.writeAndFlush(errorResponse(HttpResponseStatus.INTERNAL_SERVER_ERROR, cause.getMessage(), false))
+                .addListener(ChannelFutureListener.CLOSE);
+    }
+
+    /**
+     * @param ctx
+     * @param sequence
+     * @param status
+     * @param message
+     * @return
+     * @apiNote 按请求顺序返回错误信息并关闭连接
+     * @author wjw
+     * @date 2026/10/18 12:12
+     */
+    private void sendError(ChannelHandlerContext ctx, long sequence, HttpResponseStatus status, String message) {
+        writeInOrder(ctx, sequence, errorResponse(status, message, false), false);
+    }
+
+    /**
+     * @param request
+     * @return
+     * @apiNote 出错后是否可以继续使用连接：客户端要求保持连接，并且请求体已经完整接收。
+     * 流式接收的请求体可能还没有读完，剩余的数据会被当作下一个请求解析，只能关闭连接
+     * @author wjw
+     * @date 2026/10/19 11:05
+     */
+    private static boolean canKeepAlive(FullHttpRequest request) {
+        return HttpUtil.isKeepAlive(request)
+                && !(request instanceof ParamWrapperRequest && ((ParamWrapperRequest) request).getBody() != null);
+    }
+
+    private FullHttpResponse errorResponse(HttpResponseStatus status, String message, boolean keepAlive) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status);
         response.headers().set(CONTENT_TYPE, "text/plain; charset=UTF-8");
-        String result = "http state code:" + response.status().code() + "\n" + cause.getMessage();
+        String result = "http state code:" + response.status().code() + "\n" + message;
         response.content().writeBytes(result.getBytes(StandardCharsets.UTF_8));
         response.headers().setInt(CONTENT_LENGTH, response.content().readableBytes());
 
-        response.headers().set(CONNECTION, CLOSE);
-        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        response.headers().set(CONNECTION, keepAlive ? HttpHeaderValues.KEEP_ALIVE : CLOSE);
+        return response;
+    }
+
+    /**
+     * 等待按顺序写出的响应
+     */
+    private static class PendingResponse {
+
+        private final FullHttpResponse response;
+
+        private final boolean keepAlive;
+
+        PendingResponse(FullHttpResponse response, boolean keepAlive) {
+            this.response = response;
+            this.keepAlive = keepAlive;
+        }
     }
 }
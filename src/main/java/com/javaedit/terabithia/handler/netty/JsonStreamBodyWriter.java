@@ -0,0 +1,346 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.javaedit.terabithia.utils.JackSonUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * @author wjw
+ * @description: 逐个序列化Iterator的元素，以chunked的方式写出json数组或者NDJSON（每行一个json）。
+ * 元素在执行handler的线程中读取和序列化（见produce），Iterator可以阻塞，比如数据库游标，也不会影响同一个IO线程上的其他连接；
+ * 序列化好的chunk放入有界队列，由ChunkedWriteHandler在IO线程中按需写出。channel不可写（超过高水位）时ChunkedWriteHandler不再取chunk，
+ * 队列满后读取元素的线程等待，可写后继续，内存中最多只有MAX_QUEUED_CHUNKS个chunk
+ * @title: JsonStreamBodyWriter
+ * @date 2026/10/18 19:50
+ */
+@Slf4j
+public class JsonStreamBodyWriter implements ResponseBodyWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final int MAX_QUEUED_CHUNKS = 4;
+
+    private final Iterator<?> iterator;
+
+    private final boolean ndjson;
+
+    private final Function<Object, ObjectWriter> writerResolver;
+
+    @Nullable
+    private final AutoCloseable resource;
+
+    private final ByteBufAllocator allocator;
+
+    /*
+     * 以下字段由this保护
+     * 已经序列化、还没有写出的chunk
+     */
+    private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<>();
+    /*
+     * 所有元素都已经序列化
+     */
+    private boolean completed;
+    /*
+     * 响应被丢弃、写完或者连接断开，读取元素的线程不再继续
+     */
+    private boolean closed;
+    /*
+     * 读取或者序列化元素失败，写出时抛出，关闭连接
+     */
+    @Nullable
+    private Exception failure;
+    /*
+     * produce是否已经开始，没有开始的请求在丢弃时直接关闭资源
+     */
+    private boolean producing;
+    /*
+     * 资源是否已经关闭
+     */
+    private boolean resourceClosed;
+    /*
+     * 有新的chunk时恢复ChunkedWriteHandler的读取，写出响应体后才有
+     */
+    @Nullable
+    private Runnable resumeTransfer;
+
+    /**
+     * @param iterator       在produce的线程中读取，可以阻塞
+     * @param ndjson         true时每行一个json，否则写出json数组
+     * @param writerResolver 获取元素的ObjectWriter
+     * @param resource       元素读取完毕、失败或者响应被丢弃时在produce的线程中关闭，比如Stream
+     * @param allocator      分配chunk的allocator
+     */
+    public JsonStreamBodyWriter(Iterator<?> iterator, boolean ndjson, Function<Object, ObjectWriter> writerResolver,
+                                @Nullable AutoCloseable resource, ByteBufAllocator allocator) {
+        this.iterator = iterator;
+        this.ndjson = ndjson;
+        this.writerResolver = writerResolver;
+        this.resource = resource;
+        this.allocator = allocator;
+    }
+
+    /**
+     * @apiNote 在执行handler的线程中读取所有元素，序列化为chunk交给IO线程写出，队列满时等待。
+     * 元素读取完毕、失败或者响应被丢弃后返回，资源在这个线程中关闭
+     * @author wjw
+     * @date 2026/10/19 16:20
+     */
+    @Override
+    public void produce() {
+        boolean closed;
+        synchronized (this) {
+            closed = this.closed;
+            this.producing = !closed;
+        }
+        if (closed) {
+            closeResource();
+            return;
+        }
+        ChunkOutputStream out = new ChunkOutputStream();
+        ByteBuf chunk = null;
+        try {
+            chunk = out.target = this.allocator.directBuffer(CHUNK_SIZE);
+            JsonGenerator generator = JackSonUtil.createGenerator(out);
+            if (this.ndjson) {
+                // 每个元素后面自己写换行，不需要jackson在根级别的值之间加空格
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            while (this.iterator.hasNext()) {
+                writeElement(generator, this.iterator.next());
+                if (chunk.readableBytes() >= CHUNK_SIZE) {
+                    generator.flush();
+                    ByteBuf full = chunk;
+                    chunk = null;
+                    if (!offer(full)) {
+                        return;
+                    }
+                    chunk = out.target = this.allocator.directBuffer(CHUNK_SIZE);
+                }
+            }
+            if (!this.ndjson) {
+                generator.writeEndArray();
+            }
+            // close时把剩余的内容写入chunk
+            generator.close();
+            ByteBuf last = chunk;
+            chunk = null;
+            if (offer(last)) {
+                finish(null);
+            }
+        } catch (Exception e) {
+            if (chunk != null) {
+                chunk.release();
+            }
+            finish(e);
+        } finally {
+            closeResource();
+        }
+    }
+
+    private void writeElement(JsonGenerator generator, Object element) throws IOException {
+        if (element == null) {
+            generator.writeNull();
+        } else {
+            this.writerResolver.apply(element).writeValue(generator, element);
+        }
+        if (this.ndjson) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * @param chunk 所有权转移给队列
+     * @return 响应已经不再需要时返回false
+     */
+    private boolean offer(ByteBuf chunk) throws InterruptedIOException {
+        Runnable resume;
+        synchronized (this) {
+            while (this.chunks.size() >= MAX_QUEUED_CHUNKS && !this.closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    chunk.release();
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while writing response stream");
+                }
+            }
+            if (this.closed) {
+                chunk.release();
+                return false;
+            }
+            this.chunks.add(chunk);
+            resume = this.resumeTransfer;
+        }
+        if (resume != null) {
+            resume.run();
+        }
+        return true;
+    }
+
+    private void finish(@Nullable Exception e) {
+        Runnable resume;
+        synchronized (this) {
+            this.completed = true;
+            this.failure = e;
+            resume = this.resumeTransfer;
+        }
+        if (resume != null) {
+            resume.run();
+        }
+    }
+
+    @Override
+    public void discard() {
+        boolean producing;
+        synchronized (this) {
+            producing = this.producing;
+            close();
+        }
+        if (!producing) {
+            // produce还没有开始，之后开始时会直接返回，资源在这里关闭
+            closeResource();
+        }
+    }
+
+    /**
+     * @apiNote 释放没有写出的chunk，唤醒等待的produce
+     */
+    private synchronized void close() {
+        this.closed = true;
+        ByteBuf chunk;
+        while ((chunk = this.chunks.poll()) != null) {
+            chunk.release();
+        }
+        notifyAll();
+    }
+
+    /**
+     * @apiNote 只关闭一次
+     */
+    private void closeResource() {
+        synchronized (this) {
+            if (this.resourceClosed || this.resource == null) {
+                return;
+            }
+            this.resourceClosed = true;
+        }
+        try {
+            this.resource.close();
+        } catch (Exception e) {
+            log.warn("Failed to close response stream", e);
+        }
+    }
+
+    @Override
+    public ChannelFuture writeBody(ChannelHandlerContext ctx) throws Exception {
+        ChunkedWriteHandler chunkedWriter = ctx.pipeline().get(ChunkedWriteHandler.class);
+        ChannelFuture future = ctx.writeAndFlush(new HttpChunkedInput(new JsonChunkedInput()));
+        // 响应头已经发出，序列化失败时只能关闭连接，客户端才能知道响应不完整
+        future.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        synchronized (this) {
+            // resumeTransfer可以在任意线程中调用
+            this.resumeTransfer = chunkedWriter::resumeTransfer;
+        }
+        // 设置之前produce放入的chunk也需要写出
+        chunkedWriter.resumeTransfer();
+        return future;
+    }
+
+    /**
+     * 从队列中取出chunk，队列为空时返回null，ChunkedWriteHandler暂停读取，直到produce调用resumeTransfer
+     */
+    private class JsonChunkedInput implements ChunkedInput<ByteBuf> {
+
+        private long progress;
+
+        @Override
+        public boolean isEndOfInput() throws Exception {
+            synchronized (JsonStreamBodyWriter.this) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return completed && chunks.isEmpty();
+            }
+        }
+
+        @Override
+        public ByteBuf readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        @Override
+        public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+            ByteBuf chunk;
+            synchronized (JsonStreamBodyWriter.this) {
+                if (failure != null) {
+                    throw failure;
+                }
+                chunk = chunks.poll();
+                if (chunk != null) {
+                    // 队列有空位，唤醒等待的produce
+                    JsonStreamBodyWriter.this.notifyAll();
+                }
+            }
+            if (chunk != null) {
+                this.progress += chunk.readableBytes();
+            }
+            return chunk;
+        }
+
+        @Override
+        public long length() {
+            return -1;
+        }
+
+        @Override
+        public long progress() {
+            return this.progress;
+        }
+
+        /**
+         * @apiNote 写完或者连接断开时由ChunkedWriteHandler调用
+         */
+        @Override
+        public void close() {
+            JsonStreamBodyWriter.this.close();
+        }
+    }
+
+    /**
+     * 写入当前chunk的输出流，JsonGenerator在整个响应中复用
+     */
+    private static class ChunkOutputStream extends OutputStream {
+
+        @Nullable
+        private ByteBuf target;
+
+        @Override
+        public void write(int b) {
+            this.target.writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.target.writeBytes(b, off, len);
+        }
+    }
+}
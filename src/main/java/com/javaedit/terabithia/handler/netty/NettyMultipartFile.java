@@ -0,0 +1,85 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.handler.web.MultipartFile;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.multipart.FileUpload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * @author wjw
+ * @description: 基于netty FileUpload的MultipartFile，生命周期跟随请求，请求释放时删除临时文件
+ * @title: NettyMultipartFile
+ * @date 2026/10/18 15:35
+ */
+public class NettyMultipartFile implements MultipartFile {
+
+    private final FileUpload fileUpload;
+
+    public NettyMultipartFile(FileUpload fileUpload) {
+        this.fileUpload = fileUpload;
+    }
+
+    public FileUpload getFileUpload() {
+        return fileUpload;
+    }
+
+    @Override
+    public String getName() {
+        return fileUpload.getName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return fileUpload.getFilename();
+    }
+
+    @Override
+    public String getContentType() {
+        return fileUpload.getContentType();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return fileUpload.length() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return fileUpload.length();
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return fileUpload.isInMemory();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return fileUpload.get();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (fileUpload.isInMemory()) {
+            return new ByteBufInputStream(fileUpload.getByteBuf().duplicate());
+        }
+        return Files.newInputStream(fileUpload.getFile().toPath());
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        // 磁盘上的文件优先rename，失败时netty会用FileChannel.transferTo复制
+        if (!fileUpload.renameTo(dest)) {
+            throw new IOException("Could not transfer " + getOriginalFilename() + " to " + dest);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MultipartFile[name=" + getName() + ", filename=" + getOriginalFilename() + ", size=" + getSize() + "]";
+    }
+}
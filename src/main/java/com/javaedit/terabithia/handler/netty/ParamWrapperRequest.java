@@ -1,10 +1,15 @@
 package com.javaedit.terabithia.handler.netty;
 
+import com.javaedit.terabithia.exception.HttpMessageNotReadableException;
+import com.javaedit.terabithia.handler.web.MultipartFile;
+import com.javaedit.terabithia.method.PathVariables;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.multipart.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
 import java.util.*;
@@ -24,42 +29,107 @@ public class ParamWrapperRequest implements FullHttpRequest {
      * 注意：value为不可变数组
      */
     private volatile Map<String, List<String>> parameterMap;
+    /*
+     * 流式请求体，只有流式接收请求体的路由才有
+     */
+    @Nullable
+    private final StreamingRequestBody body;
+    /*
+     * POST请求体解码器，multipart路由在接收请求体时已经解码完成，其他请求在第一次获取参数时创建
+     * 请求释放时销毁，同时删除上传的临时文件
+     */
+    @Nullable
+    private volatile HttpPostRequestDecoder postDecoder;
+    /*
+     * 上传的文件map
+     */
+    private volatile Map<String, List<MultipartFile>> multipartFiles;
+    /*
+     * 路由匹配出的路径变量，路由没有变量时为PathVariables.EMPTY，没有匹配路由时为null
+     */
+    @Nullable
+    private PathVariables pathVariables;
+    /*
+     * 前置方法已经执行成功的最后一个拦截器的下标，HandlerExecutionChain由同一个路由的请求共用，执行状态记录在请求中
+     */
+    private int interceptorIndex = -1;
+    /*
+     * 解析过的请求路径和查询参数位置，查找路由和获取参数时共用
+     */
+    @Nullable
+    private RequestPath requestPath;
+    /*
+     * 分配响应内容的allocator，默认使用channel的allocator
+     */
+    private ByteBufAllocator alloc = ByteBufAllocator.DEFAULT;
+    /*
+     * 请求相关的资源是否已经清理
+     */
+    private volatile boolean destroyed;
 
     public ParamWrapperRequest(FullHttpRequest request) {
+        this(request, null, null);
+    }
+
+    public ParamWrapperRequest(FullHttpRequest request, StreamingRequestBody body) {
+        this(request, body, null);
+    }
+
+    public ParamWrapperRequest(FullHttpRequest request, HttpPostRequestDecoder postDecoder) {
+        this(request, null, postDecoder);
+    }
+
+    private ParamWrapperRequest(FullHttpRequest request, @Nullable StreamingRequestBody body,
+                                @Nullable HttpPostRequestDecoder postDecoder) {
         this.request = request;
+        this.body = body;
+        this.postDecoder = postDecoder;
     }
 
     private synchronized void initParameterMap() {
         if (this.parameterMap != null) {
             return;
         }
-        // 获取GET类型参数
-        QueryStringDecoder queryStringDecoder = new QueryStringDecoder(request.uri());
-        Map<String, List<String>> params = queryStringDecoder.parameters();
-
-        Map<String, List<String>> initMap = new HashMap<>(params);
+        // 获取GET类型参数，只解码?后面的部分
+        String rawQuery = getRequestPath().rawQuery();
+        Map<String, List<String>> initMap;
+        try {
+            initMap = rawQuery == null || rawQuery.isEmpty() ? new HashMap<>()
+                    : new HashMap<>(new QueryStringDecoder(rawQuery, false).parameters());
+        } catch (IllegalArgumentException e) {
+            // 不合法的百分号编码，返回400
+            throw new HttpMessageNotReadableException("Malformed query string: " + rawQuery, e);
+        }
+        Map<String, List<MultipartFile>> fileMap = new HashMap<>();
         // 获取POST类型参数
-        if (HttpMethod.POST == request.method()) {
+        HttpPostRequestDecoder decoder = this.postDecoder;
+        if (decoder == null && HttpMethod.POST == request.method()) {
             HttpDataFactory factory = new DefaultHttpDataFactory(DefaultHttpDataFactory.MINSIZE);
-            HttpPostRequestDecoder decoder = new HttpPostRequestDecoder(factory, request);
+            decoder = new HttpPostRequestDecoder(factory, request);
+            this.postDecoder = decoder;
+        }
+        if (decoder != null) {
             List<InterfaceHttpData> datas = decoder.getBodyHttpDatas();
-            Attribute attribute;
             String attrName = null;
-            String attrValue;
-            List<String> mapVal;
             for (InterfaceHttpData data : datas) {
                 try {
-                    attribute = (Attribute) data;
-                    attrName = attribute.getName();
-                    attrValue = attribute.getValue();
-                    mapVal = initMap.computeIfAbsent(attrName, k -> new ArrayList<>(1));
-                    mapVal.add(attrValue);
+                    attrName = data.getName();
+                    if (data instanceof FileUpload) {
+                        fileMap.computeIfAbsent(attrName, k -> new ArrayList<>(1)).add(new NettyMultipartFile((FileUpload) data));
+                    } else if (data instanceof Attribute) {
+                        initMap.computeIfAbsent(attrName, k -> new ArrayList<>(1)).add(((Attribute) data).getValue());
+                    }
                 } catch (IOException e) {
                     log.error("Request Parameter Get Fail, Name:{}", attrName, e);
                 }
             }
         }
 
+        Map<String, List<MultipartFile>> files = new HashMap<>();
+        for (Map.Entry<String, List<MultipartFile>> entry : fileMap.entrySet()) {
+            files.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        multipartFiles = files;
         parameterMap = new HashMap<>();
         for (Map.Entry<String, List<String>> entry : initMap.entrySet()) {
             parameterMap.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
@@ -106,10 +176,133 @@ public class ParamWrapperRequest implements FullHttpRequest {
         return Collections.unmodifiableMap(this.parameterMap);
     }
 
+    /**
+     * @param name
+     * @return
+     * @apiNote 根据名字获取上传的文件
+     * @author wjw
+     * @date 2026/10/18 15:40
+     */
+    public List<MultipartFile> getMultipartFiles(String name) {
+        if (null == this.parameterMap) {
+            initParameterMap();
+        }
+        return this.multipartFiles.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * @return
+     * @apiNote 获取所有上传的文件
+     * @author wjw
+     * @date 2026/10/18 15:41
+     */
+    public Map<String, List<MultipartFile>> getMultipartFileMap() {
+        if (null == this.parameterMap) {
+            initParameterMap();
+        }
+        return Collections.unmodifiableMap(this.multipartFiles);
+    }
+
     public FullHttpRequest getRequest() {
         return request;
     }
 
+    public ByteBufAllocator alloc() {
+        return alloc;
+    }
+
+    public void setAlloc(ByteBufAllocator alloc) {
+        this.alloc = alloc;
+    }
+
+    /**
+     * @param request
+     * @return
+     * @apiNote 获取分配响应内容的allocator，不是ParamWrapperRequest时使用默认的allocator
+     * @author wjw
+     * @date 2026/10/18 18:30
+     */
+    public static ByteBufAllocator alloc(FullHttpRequest request) {
+        return request instanceof ParamWrapperRequest ? ((ParamWrapperRequest) request).alloc() : ByteBufAllocator.DEFAULT;
+    }
+
+    /**
+     * @return
+     * @apiNote 获取请求路径，第一次调用时解析uri
+     * @author wjw
+     * @date 2026/10/18 23:10
+     */
+    public RequestPath getRequestPath() {
+        RequestPath requestPath = this.requestPath;
+        if (requestPath == null) {
+            requestPath = RequestPath.parse(request.uri());
+            this.requestPath = requestPath;
+        }
+        return requestPath;
+    }
+
+    /**
+     * @param request
+     * @return
+     * @apiNote 获取请求路径，ParamWrapperRequest使用缓存的结果，其他请求每次解析
+     * @author wjw
+     * @date 2026/10/18 23:10
+     */
+    public static RequestPath requestPath(HttpRequest request) {
+        return request instanceof ParamWrapperRequest ? ((ParamWrapperRequest) request).getRequestPath()
+                : RequestPath.parse(request.uri());
+    }
+
+    @Nullable
+    public PathVariables getPathVariables() {
+        return pathVariables;
+    }
+
+    public void setPathVariables(@Nullable PathVariables pathVariables) {
+        this.pathVariables = pathVariables;
+    }
+
+    public int getInterceptorIndex() {
+        return interceptorIndex;
+    }
+
+    public void setInterceptorIndex(int interceptorIndex) {
+        this.interceptorIndex = interceptorIndex;
+    }
+
+    /**
+     * @return
+     * @apiNote 获取流式请求体，请求体已聚合到content()时返回null
+     * @author wjw
+     * @date 2026/10/18 14:30
+     */
+    @Nullable
+    public StreamingRequestBody getBody() {
+        return body;
+    }
+
+    /**
+     * @return
+     * @apiNote 请求释放后清理请求相关的资源
+     * @author wjw
+     * @date 2026/10/18 14:31
+     */
+    protected void destroy() {
+        this.destroyed = true;
+        if (this.body != null) {
+            this.body.close();
+        }
+        HttpPostRequestDecoder decoder = this.postDecoder;
+        if (decoder != null) {
+            // 释放解码器持有的数据，删除上传的临时文件
+            decoder.destroy();
+        }
+    }
+
+    boolean isDestroyed() {
+        return destroyed;
+    }
+
     @Override
     public FullHttpRequest copy() {
         return request.copy();
@@ -130,24 +323,31 @@ public class ParamWrapperRequest implements FullHttpRequest {
         return request.replace(content);
     }
 
+    /*
+     * retain和touch需要返回自身，pipeline会用touch的返回值替换消息，返回被封装的请求会丢失流式请求体等信息
+     */
     @Override
     public FullHttpRequest retain(int increment) {
-        return request.retain(increment);
+        request.retain(increment);
+        return this;
     }
 
     @Override
     public FullHttpRequest retain() {
-        return request.retain();
+        request.retain();
+        return this;
     }
 
     @Override
     public FullHttpRequest touch() {
-        return request.touch();
+        request.touch();
+        return this;
     }
 
     @Override
     public FullHttpRequest touch(Object hint) {
-        return request.touch(hint);
+        request.touch(hint);
+        return this;
     }
 
     @Override
@@ -162,6 +362,7 @@ public class ParamWrapperRequest implements FullHttpRequest {
 
     @Override
     public FullHttpRequest setUri(String uri) {
+        this.requestPath = null;
         return request.setUri(uri);
     }
 
@@ -232,12 +433,20 @@ public class ParamWrapperRequest implements FullHttpRequest {
 
     @Override
     public boolean release() {
-        return request.release();
+        boolean released = request.release();
+        if (released) {
+            destroy();
+        }
+        return released;
     }
 
     @Override
     public boolean release(int i) {
-        return request.release(i);
+        boolean released = request.release(i);
+        if (released) {
+            destroy();
+        }
+        return released;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/**
+ * @author wjw
+ * @description: 连接的autoRead只由这里修改。pipelining未响应的请求太多、流式请求体缓冲太多都会暂停读取，
+ * 每个原因单独记录，所有原因都解除后才恢复读取，避免一方恢复读取时绕过另一方的限制。
+ * 状态只在IO线程中修改，其他线程调用时提交到IO线程执行
+ * @title: ReadThrottle
+ * @date 2026/10/19 14:10
+ */
+public final class ReadThrottle {
+
+    /**
+     * 未响应的请求达到上限
+     */
+    public static final int PIPELINING = 1;
+
+    /**
+     * 流式请求体中未读取的数据超过上限
+     */
+    public static final int REQUEST_BODY = 1 << 1;
+
+    private static final AttributeKey<ReadThrottle> KEY = AttributeKey.valueOf("terabithia.readThrottle");
+
+    private final Channel channel;
+
+    /**
+     * 暂停读取的原因，只在IO线程中访问
+     */
+    private int reasons;
+
+    private ReadThrottle(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @param channel
+     * @return
+     * @apiNote 获取连接的ReadThrottle，没有时创建
+     * @author wjw
+     * @date 2026/10/19 14:12
+     */
+    public static ReadThrottle get(Channel channel) {
+        ReadThrottle throttle = channel.attr(KEY).get();
+        if (throttle == null) {
+            ReadThrottle created = new ReadThrottle(channel);
+            throttle = channel.attr(KEY).setIfAbsent(created);
+            if (throttle == null) {
+                throttle = created;
+            }
+        }
+        return throttle;
+    }
+
+    /**
+     * @param reason PIPELINING或REQUEST_BODY
+     * @apiNote 因为reason暂停读取
+     */
+    public void pause(int reason) {
+        if (!this.channel.eventLoop().inEventLoop()) {
+            this.channel.eventLoop().execute(() -> pause(reason));
+            return;
+        }
+        this.reasons |= reason;
+        this.channel.config().setAutoRead(false);
+    }
+
+    /**
+     * @param reason PIPELINING或REQUEST_BODY
+     * @apiNote 解除reason，没有其他原因时恢复读取
+     */
+    public void resume(int reason) {
+        if (!this.channel.eventLoop().inEventLoop()) {
+            this.channel.eventLoop().execute(() -> resume(reason));
+            return;
+        }
+        if ((this.reasons & reason) == 0) {
+            return;
+        }
+        this.reasons &= ~reason;
+        if (this.reasons == 0) {
+            this.channel.config().setAutoRead(true);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * @author wjw
+ * @description: 在HttpRequestBodyHandler中被拒绝的请求（请求体太大、multipart解码失败）。
+ * 和正常的请求一样交给HttpServerHandler，按到达顺序占用一个编号，前面的响应都写出后再写出错误响应并关闭连接，
+ * 不会越过pipelining中还没有写出的响应
+ * @title: RejectedHttpRequest
+ * @date 2026/10/19 17:05
+ */
+public class RejectedHttpRequest extends DefaultFullHttpRequest {
+
+    private final HttpResponseStatus status;
+
+    public RejectedHttpRequest(HttpRequest request, HttpResponseStatus status) {
+        super(request.protocolVersion(), request.method(), request.uri(), Unpooled.EMPTY_BUFFER);
+        this.status = status;
+    }
+
+    public HttpResponseStatus getStatus() {
+        return status;
+    }
+}
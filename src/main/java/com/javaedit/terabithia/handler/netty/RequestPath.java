@@ -0,0 +1,177 @@
+package com.javaedit.terabithia.handler.netty;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author wjw
+ * @description: 请求行中uri的视图，只扫描一次，记录路径和查询参数的位置。
+ * 路径中没有%和非ASCII字符时直接在原始的uri上匹配路由，不创建字符串；需要解码时才解码。
+ * 不合法的uri不会抛出异常，无法解码的部分保持原样
+ * @title: RequestPath
+ * @date 2026/10/18 22:55
+ */
+public final class RequestPath {
+
+    private final String uri;
+
+    /**
+     * 路由匹配使用的字符串，不需要解码时就是uri
+     */
+    private final String source;
+
+    private final int start;
+
+    private final int end;
+
+    /**
+     * ?之后的位置，没有查询参数时为-1
+     */
+    private final int queryStart;
+
+    private final int queryEnd;
+
+    @Nullable
+    private String path;
+
+    private RequestPath(String uri, String source, int start, int end, int queryStart, int queryEnd) {
+        this.uri = uri;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.queryStart = queryStart;
+        this.queryEnd = queryEnd;
+    }
+
+    /**
+     * @param uri 请求行中的uri，可以是/path?query，也可以是http://host/path?query
+     * @return
+     * @apiNote 解析uri，不会抛出异常
+     * @author wjw
+     * @date 2026/10/18 22:58
+     */
+    public static RequestPath parse(String uri) {
+        int length = uri.length();
+        int start = 0;
+        if (length > 0 && uri.charAt(0) != '/') {
+            // absolute-form，跳过scheme和authority
+            int scheme = uri.indexOf("://");
+            if (scheme > 0) {
+                // authority在/、?或#处结束
+                start = scheme + 3;
+                while (start < length && "/?#".indexOf(uri.charAt(start)) < 0) {
+                    start++;
+                }
+            }
+        }
+        boolean decode = false;
+        int end = start;
+        while (end < length) {
+            char c = uri.charAt(end);
+            if (c == '?' || c == '#') {
+                break;
+            }
+            if (c == '%' || c >= 0x80) {
+                decode = true;
+            }
+            end++;
+        }
+        int queryStart = -1;
+        int queryEnd = -1;
+        if (end < length && uri.charAt(end) == '?') {
+            queryStart = end + 1;
+            int fragment = uri.indexOf('#', queryStart);
+            queryEnd = fragment < 0 ? length : fragment;
+        }
+        String source = uri;
+        int sourceStart = start;
+        int sourceEnd = end;
+        if (start == end) {
+            // http://host这样没有路径的uri
+            source = "/";
+            sourceStart = 0;
+            sourceEnd = 1;
+        } else if (decode) {
+            String decoded = decode(uri, start, end);
+            if (decoded != null) {
+                source = decoded;
+                sourceStart = 0;
+                sourceEnd = decoded.length();
+            }
+        }
+        return new RequestPath(uri, source, sourceStart, sourceEnd, queryStart, queryEnd);
+    }
+
+    /**
+     * @param s
+     * @param start
+     * @param end
+     * @return 不是合法的百分号编码时返回null
+     * @apiNote 按UTF-8解码路径，和查询参数不同，+不解码为空格。
+     * HttpObjectDecoder把请求行的每个字节转换为一个字符，所以非ASCII字符直接作为字节处理
+     */
+    @Nullable
+    private static String decode(String s, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                int high = i + 2 < end ? Character.digit(s.charAt(i + 1), 16) : -1;
+                int low = high < 0 ? -1 : Character.digit(s.charAt(i + 2), 16);
+                if (low < 0) {
+                    return null;
+                }
+                bytes[length++] = (byte) ((high << 4) | low);
+                i += 2;
+            } else if (c <= 0xFF) {
+                bytes[length++] = (byte) c;
+            } else {
+                return null;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 包含路径的字符串，和getStart()、getEnd()一起使用，匹配路由时不需要创建子串
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return
+     * @apiNote 获取解码后的路径，只有一个路径的uri不创建新的字符串
+     */
+    public String path() {
+        String path = this.path;
+        if (path == null) {
+            path = this.start == 0 && this.end == this.source.length() ? this.source : this.source.substring(this.start, this.end);
+            this.path = path;
+        }
+        return path;
+    }
+
+    /**
+     * @return 没有?时返回null
+     * @apiNote 获取没有解码的查询参数
+     */
+    @Nullable
+    public String rawQuery() {
+        return this.queryStart < 0 ? null : this.uri.substring(this.queryStart, this.queryEnd);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+}
@@ -0,0 +1,38 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * @author wjw
+ * @description: 在响应头之后写出响应体，用于文件等不适合放进FullHttpResponse的响应
+ * @title: ResponseBodyWriter
+ * @date 2026/10/18 16:10
+ */
+@FunctionalInterface
+public interface ResponseBodyWriter {
+
+    /**
+     * @param ctx
+     * @return 最后一次写出的future，连接需要关闭时在上面添加监听
+     * @apiNote 在IO线程中调用，写出响应体和LastHttpContent并flush
+     * @author wjw
+     * @date 2026/10/18 16:11
+     */
+    ChannelFuture writeBody(ChannelHandlerContext ctx) throws Exception;
+
+    /**
+     * @apiNote handler返回后在执行handler的线程中调用，需要阻塞读取数据源的响应体在这里产生，写出仍然在IO线程中。
+     * 和writeBody并发执行，可以早于或者晚于writeBody；handler在IO线程中执行时在业务线程池中调用。默认什么都不做
+     * @author wjw
+     * @date 2026/10/19 16:10
+     */
+    default void produce() {
+    }
+
+    /**
+     * @apiNote 响应没有写出就被丢弃时调用（比如连接已经断开），释放响应体占用的资源
+     */
+    default void discard() {
+    }
+}
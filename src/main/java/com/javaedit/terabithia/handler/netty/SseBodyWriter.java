@@ -0,0 +1,112 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.handler.web.SseEmitter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wjw
+ * @description: 以chunked的方式写出SseEmitter中的事件。ChunkedWriteHandler只在连接可写时读取，
+ * 客户端接收慢时事件留在SseEmitter的有界队列中；队列为空时暂停，有新事件时再恢复，空闲连接只占用一个定时心跳
+ * @title: SseBodyWriter
+ * @date 2026/10/18 20:55
+ */
+public class SseBodyWriter implements ResponseBodyWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final SseEmitter emitter;
+
+    private final TerabithiaProperties.Sse config;
+
+    @Nullable
+    private ScheduledFuture<?> heartbeat;
+
+    public SseBodyWriter(SseEmitter emitter, TerabithiaProperties.Sse config) {
+        this.emitter = emitter;
+        this.config = config;
+    }
+
+    @Override
+    public ChannelFuture writeBody(ChannelHandlerContext ctx) throws Exception {
+        ChunkedWriteHandler chunkedWriter = ctx.pipeline().get(ChunkedWriteHandler.class);
+        ChannelFuture future = ctx.writeAndFlush(new HttpChunkedInput(new SseChunkedInput()));
+        future.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        long interval = this.config.getHeartbeatInterval();
+        if (interval > 0) {
+            this.heartbeat = ctx.executor().scheduleAtFixedRate(() -> this.emitter.heartbeat(""), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        // 有新事件时恢复ChunkedWriteHandler的读取，resumeTransfer可以在任意线程中调用
+        this.emitter.bind(chunkedWriter::resumeTransfer, () -> ctx.channel().close(),
+                this.config.getQueueCapacity(), this.config.getOverflowPolicy());
+        return future;
+    }
+
+    @Override
+    public void discard() {
+        this.emitter.close();
+    }
+
+    private class SseChunkedInput implements ChunkedInput<ByteBuf> {
+
+        private long progress;
+
+        @Override
+        public boolean isEndOfInput() {
+            return emitter.isDrained();
+        }
+
+        @Override
+        public ByteBuf readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        /**
+         * @apiNote 队列为空时返回null，ChunkedWriteHandler暂停读取，直到SseEmitter调用resumeTransfer
+         */
+        @Override
+        public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+            String events = emitter.poll(CHUNK_SIZE);
+            if (events == null) {
+                return null;
+            }
+            ByteBuf chunk = allocator.directBuffer(ByteBufUtil.utf8Bytes(events));
+            ByteBufUtil.writeUtf8(chunk, events);
+            this.progress += chunk.readableBytes();
+            return chunk;
+        }
+
+        @Override
+        public long length() {
+            return -1;
+        }
+
+        @Override
+        public long progress() {
+            return this.progress;
+        }
+
+        /**
+         * @apiNote 写完或者连接断开时由ChunkedWriteHandler调用
+         */
+        @Override
+        public void close() throws Exception {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+            }
+            emitter.close();
+        }
+    }
+}
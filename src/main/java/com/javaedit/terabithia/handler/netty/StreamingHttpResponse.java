@@ -0,0 +1,57 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+/**
+ * @author wjw
+ * @description: 响应体由ResponseBodyWriter写出的响应。
+ * 为了兼容返回FullHttpResponse的处理流程继承了DefaultFullHttpResponse，content始终为空，写出时先写响应头再交给ResponseBodyWriter
+ * @title: StreamingHttpResponse
+ * @date 2026/10/18 16:12
+ */
+public class StreamingHttpResponse extends DefaultFullHttpResponse {
+
+    private final ResponseBodyWriter bodyWriter;
+
+    public StreamingHttpResponse(HttpVersion version, HttpResponseStatus status, ResponseBodyWriter bodyWriter) {
+        super(version, status, Unpooled.EMPTY_BUFFER);
+        this.bodyWriter = bodyWriter;
+    }
+
+    public ResponseBodyWriter getBodyWriter() {
+        return bodyWriter;
+    }
+
+    /**
+     * @param ctx
+     * @return
+     * @apiNote 写出响应头和响应体，在IO线程中调用
+     * @author wjw
+     * @date 2026/10/18 16:14
+     */
+    public ChannelFuture write(ChannelHandlerContext ctx) throws Exception {
+        ctx.write(new DefaultHttpResponse(protocolVersion(), status(), headers()));
+        return bodyWriter.writeBody(ctx);
+    }
+
+    /**
+     * @apiNote 写出时不会释放这个对象，被释放说明响应没有写出，通知ResponseBodyWriter释放资源
+     */
+    @Override
+    public boolean release() {
+        bodyWriter.discard();
+        return super.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        bodyWriter.discard();
+        return super.release(decrement);
+    }
+}
@@ -0,0 +1,272 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @author wjw
+ * @description: 流式请求体，IO线程收到HttpContent后放入队列，业务线程边收边读。
+ * 队列中未读取的数据超过上限时通过ReadThrottle暂停读取，读取到一半以下时解除，实现流控
+ * @title: StreamingRequestBody
+ * @date 2026/10/18 14:10
+ */
+public class StreamingRequestBody extends InputStream {
+
+    private final Channel channel;
+
+    private final ReadThrottle throttle;
+
+    private final int highWaterMark;
+
+    private final int lowWaterMark;
+
+    private final long readTimeoutNanos;
+
+    private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<>();
+
+    /**
+     * 队列中未读取的字节数
+     */
+    private int queuedBytes;
+
+    /**
+     * 请求体是否已经全部收到
+     */
+    private boolean completed;
+
+    /**
+     * 读取方关闭后，剩余的数据直接丢弃
+     */
+    private boolean closed;
+
+    /**
+     * 是否因为缓冲太多而暂停了读取
+     */
+    private boolean readPaused;
+
+    @Nullable
+    private IOException failure;
+
+    @Nullable
+    private ReadableByteChannel byteChannel;
+
+    public StreamingRequestBody(Channel channel, int bufferSize, long readTimeoutMillis) {
+        this.channel = channel;
+        this.throttle = ReadThrottle.get(channel);
+        this.highWaterMark = Math.max(bufferSize, 1);
+        this.lowWaterMark = this.highWaterMark / 2;
+        this.readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis);
+    }
+
+    /**
+     * @param chunk 所有权转移给请求体
+     * @return
+     * @apiNote 放入收到的数据，在IO线程中调用
+     * @author wjw
+     * @date 2026/10/18 14:15
+     */
+    public synchronized void offer(ByteBuf chunk) {
+        if (this.closed || this.failure != null || !chunk.isReadable()) {
+            chunk.release();
+            return;
+        }
+        this.chunks.add(chunk);
+        this.queuedBytes += chunk.readableBytes();
+        if (this.queuedBytes > this.highWaterMark && !this.readPaused) {
+            this.readPaused = true;
+            this.throttle.pause(ReadThrottle.REQUEST_BODY);
+        }
+        notifyAll();
+    }
+
+    /**
+     * @apiNote 请求体接收完毕，在IO线程中调用
+     */
+    public synchronized void complete() {
+        this.completed = true;
+        notifyAll();
+    }
+
+    /**
+     * @param cause
+     * @apiNote 连接断开等异常，唤醒阻塞的读取方
+     */
+    public synchronized void fail(Throwable cause) {
+        if (this.completed) {
+            return;
+        }
+        this.failure = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        releaseChunks();
+        notifyAll();
+    }
+
+    /**
+     * @return 请求体读取完毕时返回null，调用方负责释放返回的ByteBuf
+     * @apiNote 阻塞读取下一块数据
+     * @author wjw
+     * @date 2026/10/18 14:20
+     */
+    @Nullable
+    public synchronized ByteBuf readChunk() throws IOException {
+        if (!awaitData()) {
+            return null;
+        }
+        ByteBuf chunk = this.chunks.poll();
+        onConsumed(chunk.readableBytes());
+        return chunk;
+    }
+
+    /**
+     * @param callback 回调返回后ByteBuf会被释放，需要保留时调用retain
+     * @apiNote 数据到达时逐块回调，直到请求体读取完毕
+     * @author wjw
+     * @date 2026/10/18 14:22
+     */
+    public void forEachChunk(Consumer<ByteBuf> callback) throws IOException {
+        ByteBuf chunk;
+        while ((chunk = readChunk()) != null) {
+            try {
+                callback.accept(chunk);
+            } finally {
+                chunk.release();
+            }
+        }
+    }
+
+    /**
+     * @return
+     * @apiNote 以ReadableByteChannel的方式读取请求体
+     */
+    public synchronized ReadableByteChannel getChannel() {
+        if (this.byteChannel == null) {
+            this.byteChannel = Channels.newChannel(this);
+        }
+        return this.byteChannel;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        if (!awaitData()) {
+            return -1;
+        }
+        ByteBuf chunk = this.chunks.peek();
+        int b = chunk.readUnsignedByte();
+        consumeHead(chunk, 1);
+        return b;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!awaitData()) {
+            return -1;
+        }
+        ByteBuf chunk = this.chunks.peek();
+        int n = Math.min(len, chunk.readableBytes());
+        chunk.readBytes(b, off, n);
+        consumeHead(chunk, n);
+        return n;
+    }
+
+    @Override
+    public synchronized int available() {
+        return this.queuedBytes;
+    }
+
+    /**
+     * @apiNote 读取方不再需要请求体，释放队列中的数据，后续收到的数据直接丢弃
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        releaseChunks();
+        // 恢复读取，让剩余的请求体被读取并丢弃，不影响下一个请求
+        resumeRead();
+    }
+
+    private void consumeHead(ByteBuf chunk, int n) {
+        if (!chunk.isReadable()) {
+            this.chunks.poll();
+            chunk.release();
+        }
+        onConsumed(n);
+    }
+
+    private void onConsumed(int n) {
+        this.queuedBytes -= n;
+        if (this.queuedBytes <= this.lowWaterMark) {
+            resumeRead();
+        }
+    }
+
+    /**
+     * @apiNote 解除请求体的暂停，pipelining也暂停了读取时仍然不读取。
+     * 在IO线程中再检查一次，期间又收到数据重新暂停时不解除
+     */
+    private void resumeRead() {
+        if (!this.readPaused) {
+            return;
+        }
+        this.readPaused = false;
+        this.channel.eventLoop().execute(() -> {
+            synchronized (this) {
+                if (!this.readPaused) {
+                    this.throttle.resume(ReadThrottle.REQUEST_BODY);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return 有数据可读时返回true，请求体读取完毕时返回false
+     */
+    private boolean awaitData() throws IOException {
+        long deadline = System.nanoTime() + this.readTimeoutNanos;
+        while (this.chunks.isEmpty()) {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            if (this.closed) {
+                throw new IOException("Request body is closed");
+            }
+            if (this.completed) {
+                return false;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("Timed out reading request body");
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading request body");
+            }
+        }
+        return true;
+    }
+
+    private void releaseChunks() {
+        ByteBuf chunk;
+        while ((chunk = this.chunks.poll()) != null) {
+            chunk.release();
+        }
+        this.queuedBytes = 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.handler.web.WebSocketHandler;
+import com.javaedit.terabithia.handler.web.WebSocketSession;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.websocketx.*;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+
+/**
+ * @author wjw
+ * @description: 升级后替换HttpServerHandler，先用收到的升级请求完成握手，之后把帧分发给WebSocketHandler。
+ * 分片的消息由前面的WebSocketFrameAggregator合并，permessage-deflate由WebSocketServerCompressionHandler协商
+ * @title: WebSocketFrameHandler
+ * @date 2026/10/18 21:35
+ */
+@Slf4j
+public class WebSocketFrameHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * 没有收到关闭帧就断开
+     */
+    private static final int ABNORMAL_CLOSURE = 1006;
+
+    private final WebSocketHandler handler;
+
+    private final int maxFramePayloadLength;
+
+    private final boolean allowExtensions;
+
+    private WebSocketServerHandshaker handshaker;
+
+    private WebSocketSession session;
+
+    private int closeStatus = ABNORMAL_CLOSURE;
+
+    private String closeReason = "";
+
+    public WebSocketFrameHandler(WebSocketHandler handler, int maxFramePayloadLength, boolean allowExtensions) {
+        this.handler = handler;
+        this.maxFramePayloadLength = maxFramePayloadLength;
+        this.allowExtensions = allowExtensions;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        try {
+            if (msg instanceof FullHttpRequest) {
+                handshake(ctx, (FullHttpRequest) msg);
+            } else if (msg instanceof WebSocketFrame) {
+                onFrame(ctx, (WebSocketFrame) msg);
+            }
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    /**
+     * @param ctx
+     * @param request
+     * @return
+     * @apiNote 写出101响应，握手完成后回调onOpen
+     * @author wjw
+     * @date 2026/10/18 21:38
+     */
+    private void handshake(ChannelHandlerContext ctx, FullHttpRequest request) {
+        String scheme = ctx.pipeline().get(SslHandler.class) == null ? "ws" : "wss";
+        WebSocketServerHandshakerFactory factory = new WebSocketServerHandshakerFactory(
+                scheme + "://" + request.headers().get(HOST) + request.uri(), null,
+                this.allowExtensions, this.maxFramePayloadLength);
+        this.handshaker = factory.newHandshaker(request);
+        if (this.handshaker == null) {
+            WebSocketServerHandshakerFactory.sendUnsupportedVersionResponse(ctx.channel())
+                    .addListener(ChannelFutureListener.CLOSE);
+            return;
+        }
+        this.session = new WebSocketSession(ctx.channel(), request.uri());
+        this.handshaker.handshake(ctx.channel(), request).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                log.debug("websocket handshake failed: {}", future.cause().getMessage());
+                future.channel().close();
+                return;
+            }
+            try {
+                this.handler.onOpen(this.session);
+            } catch (Exception e) {
+                onError(e);
+            }
+        });
+    }
+
+    private void onFrame(ChannelHandlerContext ctx, WebSocketFrame frame) {
+        if (frame instanceof PingWebSocketFrame) {
+            ctx.writeAndFlush(new PongWebSocketFrame(frame.content().retain()));
+            return;
+        }
+        if (frame instanceof CloseWebSocketFrame) {
+            CloseWebSocketFrame closeFrame = (CloseWebSocketFrame) frame;
+            this.closeStatus = closeFrame.statusCode();
+            this.closeReason = closeFrame.reasonText();
+            // 回复关闭帧后关闭连接
+            this.handshaker.close(ctx.channel(), closeFrame.retain());
+            return;
+        }
+        try {
+            if (frame instanceof TextWebSocketFrame) {
+                this.handler.onText(this.session, ((TextWebSocketFrame) frame).text());
+            } else if (frame instanceof BinaryWebSocketFrame) {
+                this.handler.onBinary(this.session, frame.content());
+            }
+        } catch (Exception e) {
+            onError(e);
+        }
+    }
+
+    private void onError(Throwable cause) {
+        try {
+            this.handler.onError(this.session, cause);
+        } catch (Exception e) {
+            log.error("websocket error ", e);
+            this.session.getChannel().close();
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (this.session != null) {
+            try {
+                this.handler.onClose(this.session, this.closeStatus, this.closeReason);
+            } catch (Exception e) {
+                log.error("websocket onClose error ", e);
+            }
+        }
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * @param ctx
+     * @param cause
+     * @return
+     * @apiNote 帧超过大小限制或者不合法时由handler决定如何关闭
+     */
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        if (this.session == null) {
+            log.error("websocket error ", cause);
+            ctx.close();
+            return;
+        }
+        log.debug("websocket error: {}", cause.getMessage());
+        onError(cause);
+    }
+}
@@ -1,5 +1,6 @@
 package com.javaedit.terabithia.handler.web;
 
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
 import com.javaedit.terabithia.method.HandlerMethod;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -7,37 +8,77 @@ import io.netty.handler.codec.http.FullHttpResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * @author wjw
- * @description: 处理器链条
+ * @description: 处理器链条。创建后不再修改，同一个路由的所有请求共用，
+ * 每个请求执行到了哪一个拦截器记录在请求（ParamWrapperRequest）中
  * @title: HandlerExecutionChain
  * @date 2022/6/14 12:05
  */
 @Slf4j
 public class HandlerExecutionChain {
 
+    private static final HandlerInterceptor[] NO_INTERCEPTORS = new HandlerInterceptor[0];
+
     private final HandlerMethod handler;
 
-    // 拦截器
-    private final List<HandlerInterceptor> interceptorList = new ArrayList<>();
+    /**
+     * 执行handler的线程池，为null时在IO线程中执行
+     */
+    @Nullable
+    private final Executor executor;
 
     /**
-     * 拦截器下标（标识使用到了哪一个拦截器）
+     * 拦截器，是否适用于当前请求在执行时由HandlerInterceptor.match判断
      */
-    private int interceptorIndex = -1;
+    private final HandlerInterceptor[] interceptors;
 
 
     public HandlerExecutionChain(HandlerMethod handler) {
+        this(handler, null);
+    }
+
+    public HandlerExecutionChain(HandlerMethod handler, @Nullable Executor executor) {
+        this(handler, executor, NO_INTERCEPTORS);
+    }
+
+    /**
+     * @param handler
+     * @param executor
+     * @param interceptors 不会复制，调用方不能再修改
+     */
+    public HandlerExecutionChain(HandlerMethod handler, @Nullable Executor executor, HandlerInterceptor[] interceptors) {
         this.handler = handler;
+        this.executor = executor;
+        this.interceptors = interceptors;
     }
 
     public HandlerMethod getHandler() {
         return handler;
     }
 
+    @Nullable
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public HandlerInterceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * @param handler
+     * @return
+     * @apiNote 使用同样的线程池和拦截器，替换handler，比如每次请求获取的prototype bean
+     * @author wjw
+     * @date 2026/10/19 17:10
+     */
+    public HandlerExecutionChain withHandler(HandlerMethod handler) {
+        return new HandlerExecutionChain(handler, this.executor, this.interceptors);
+    }
+
     /**
      * @param ctx
      * @param request
@@ -47,13 +88,16 @@ public class HandlerExecutionChain {
      * @date 2022/6/17 10:59
      */
     public boolean applyPreHandle(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
-        for (int i = 0; i < this.interceptorList.size(); i++) {
-            HandlerInterceptor interceptor = this.interceptorList.get(i);
+        for (int i = 0; i < this.interceptors.length; i++) {
+            HandlerInterceptor interceptor = this.interceptors[i];
+            if (!interceptor.match(request)) {
+                continue;
+            }
             if (!interceptor.preHandle(ctx, request, this.handler)) {
-                triggerAfterCompletion(ctx, request, null);
+                triggerAfterCompletion(ctx, request, null, i - 1);
                 return false;
             }
-            this.interceptorIndex = i;
+            setInterceptorIndex(request, i);
         }
         return true;
     }
@@ -68,8 +112,15 @@ public class HandlerExecutionChain {
      * @date 2022/6/17 10:59
      */
     public void triggerAfterCompletion(ChannelHandlerContext ctx, FullHttpRequest request, @Nullable Exception ex) {
-        for (int i = this.interceptorIndex; i >= 0; i--) {
-            HandlerInterceptor interceptor = this.interceptorList.get(i);
+        triggerAfterCompletion(ctx, request, ex, getInterceptorIndex(request));
+    }
+
+    private void triggerAfterCompletion(ChannelHandlerContext ctx, FullHttpRequest request, @Nullable Exception ex, int interceptorIndex) {
+        for (int i = interceptorIndex; i >= 0; i--) {
+            HandlerInterceptor interceptor = this.interceptors[i];
+            if (!interceptor.match(request)) {
+                continue;
+            }
             try {
                 interceptor.afterCompletion(ctx, request, this.handler, ex);
             } catch (Throwable ex2) {
@@ -79,20 +130,26 @@ public class HandlerExecutionChain {
     }
 
     public void applyPostHandle(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) throws Exception {
-        for (int i = this.interceptorList.size() - 1; i >= 0; i--) {
-            HandlerInterceptor interceptor = this.interceptorList.get(i);
-            interceptor.postHandle(ctx, request, response, this.handler);
+        for (int i = this.interceptors.length - 1; i >= 0; i--) {
+            HandlerInterceptor interceptor = this.interceptors[i];
+            if (interceptor.match(request)) {
+                interceptor.postHandle(ctx, request, response, this.handler);
+            }
+        }
+    }
+
+    private static void setInterceptorIndex(FullHttpRequest request, int interceptorIndex) {
+        if (request instanceof ParamWrapperRequest) {
+            ((ParamWrapperRequest) request).setInterceptorIndex(interceptorIndex);
         }
     }
 
     /**
-     * @param interceptor
-     * @return
-     * @apiNote 添加拦截器
-     * @author wjw
-     * @date 2022/6/17 11:33
+     * @param request
+     * @return 不是ParamWrapperRequest时无法记录，认为所有拦截器的前置方法都已经执行
      */
-    public void addInterceptor(HandlerInterceptor interceptor) {
-        this.interceptorList.add(interceptor);
+    private int getInterceptorIndex(FullHttpRequest request) {
+        return request instanceof ParamWrapperRequest ?
+                ((ParamWrapperRequest) request).getInterceptorIndex() : this.interceptors.length - 1;
     }
 }
@@ -15,7 +15,7 @@ import org.springframework.lang.Nullable;
 public interface HandlerInterceptor {
     
     /**
-     * @apiNote 过滤器是否适用当前请求
+     * @apiNote 过滤器是否适用当前请求，同一个请求在前置、后置、完成方法之前都会调用，结果需要一致
      * @param request
      * @return
      * @author wjw
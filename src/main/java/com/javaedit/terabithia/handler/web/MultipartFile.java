@@ -0,0 +1,64 @@
+package com.javaedit.terabithia.handler.web;
+
+import org.springframework.lang.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * @author wjw
+ * @description: multipart请求中上传的文件，请求结束后临时文件会被删除，需要保留时调用transferTo
+ * @title: MultipartFile
+ * @date 2026/10/18 15:30
+ */
+public interface MultipartFile {
+
+    /**
+     * @return
+     * @apiNote 表单中的参数名
+     */
+    String getName();
+
+    /**
+     * @return
+     * @apiNote 客户端上传的文件名
+     */
+    @Nullable
+    String getOriginalFilename();
+
+    @Nullable
+    String getContentType();
+
+    boolean isEmpty();
+
+    long getSize();
+
+    /**
+     * @return
+     * @apiNote 是否还在内存中，超过terabithia.multipart.memory-threshold的文件写入临时文件
+     */
+    boolean isInMemory();
+
+    /**
+     * @return
+     * @apiNote 读取整个文件，大文件请使用getInputStream或transferTo
+     */
+    byte[] getBytes() throws IOException;
+
+    InputStream getInputStream() throws IOException;
+
+    /**
+     * @param dest
+     * @return
+     * @apiNote 保存到指定文件，临时文件和目标在同一个文件系统时直接移动，不需要复制
+     * @author wjw
+     * @date 2026/10/18 15:32
+     */
+    void transferTo(File dest) throws IOException;
+
+    default void transferTo(Path dest) throws IOException {
+        transferTo(dest.toFile());
+    }
+}
@@ -0,0 +1,135 @@
+package com.javaedit.terabithia.handler.web;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author wjw
+ * @description: 小文件缓存，文件内容放在池化的堆外内存中，按最近访问淘汰，总大小有上限。
+ * 文件的修改时间或大小变化后重新读取
+ * @title: ResourceCache
+ * @date 2026/10/18 16:25
+ */
+public class ResourceCache {
+
+    private final int maxFileSize;
+
+    private final long maxSize;
+
+    /**
+     * accessOrder为true，按访问顺序排列，第一个是最久没有访问的
+     */
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long size;
+
+    public ResourceCache(int maxFileSize, long maxSize) {
+        this.maxFileSize = maxFileSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param length
+     * @return
+     * @apiNote 文件是否适合放进缓存
+     */
+    public boolean isCacheable(long length) {
+        return this.maxSize > 0 && length <= this.maxFileSize && length <= this.maxSize;
+    }
+
+    /**
+     * @param file
+     * @param lastModified
+     * @param length
+     * @return 调用方负责释放返回的ByteBuf，缓存未命中且不适合缓存时返回null
+     * @apiNote 获取文件内容，未命中时读取文件放入缓存
+     * @author wjw
+     * @date 2026/10/18 16:28
+     */
+    @Nullable
+    public ByteBuf get(Path file, long lastModified, long length) throws IOException {
+        if (!isCacheable(length)) {
+            return null;
+        }
+        synchronized (this) {
+            Entry entry = this.entries.get(file);
+            if (entry != null && entry.lastModified == lastModified && entry.content.readableBytes() == length) {
+                return entry.content.retainedDuplicate();
+            }
+        }
+        ByteBuf content = read(file, (int) length);
+        synchronized (this) {
+            Entry old = this.entries.put(file, new Entry(content, lastModified));
+            if (old != null) {
+                remove(old);
+            }
+            this.size += content.readableBytes();
+            evict();
+            return content.retainedDuplicate();
+        }
+    }
+
+    private ByteBuf read(Path file, int length) throws IOException {
+        ByteBuf content = PooledByteBufAllocator.DEFAULT.directBuffer(length, length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (content.isWritable()) {
+                int n = content.writeBytes(channel, position, content.writableBytes());
+                if (n < 0) {
+                    break;
+                }
+                position += n;
+            }
+            return content;
+        } catch (IOException | RuntimeException e) {
+            content.release();
+            throw e;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Entry>> it = this.entries.entrySet().iterator();
+        while (this.size > this.maxSize && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            remove(eldest);
+        }
+    }
+
+    private void remove(Entry entry) {
+        this.size -= entry.content.readableBytes();
+        entry.content.release();
+    }
+
+    /**
+     * @apiNote 清空缓存，释放堆外内存
+     */
+    public synchronized void clear() {
+        for (Entry entry : this.entries.values()) {
+            entry.content.release();
+        }
+        this.entries.clear();
+        this.size = 0;
+    }
+
+    private static class Entry {
+
+        private final ByteBuf content;
+
+        private final long lastModified;
+
+        Entry(ByteBuf content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.javaedit.terabithia.handler.web;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author wjw
+ * @description: 静态资源处理器，没有匹配的handler时按terabithia.resources的配置从文件系统中查找
+ * @title: ResourceHttpRequestHandler
+ * @date 2026/10/18 16:50
+ */
+@Slf4j
+@Component
+public class ResourceHttpRequestHandler implements InitializingBean {
+
+    @Autowired
+    private TerabithiaProperties properties;
+
+    @Autowired
+    private ResourceResponseFactory responseFactory;
+
+    private final List<Path> locations = new ArrayList<>();
+
+    private String pathPrefix;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        TerabithiaProperties.Resources resources = properties.getResources();
+        this.pathPrefix = resources.getPathPrefix().endsWith("/") ? resources.getPathPrefix() : resources.getPathPrefix() + "/";
+        for (String location : resources.getLocations()) {
+            Path path = Paths.get(location).toAbsolutePath().normalize();
+            if (!Files.isDirectory(path)) {
+                log.warn("Static resource location {} is not a directory, ignored", path);
+                continue;
+            }
+            this.locations.add(path);
+            log.info("Serving static resources {}** from {}", this.pathPrefix, path);
+        }
+    }
+
+    /**
+     * @param request
+     * @return 不是静态资源时返回null
+     * @apiNote 查找并返回静态资源
+     * @author wjw
+     * @date 2026/10/18 16:52
+     */
+    @Nullable
+    public FullHttpResponse handleRequest(FullHttpRequest request) throws Exception {
+        if (this.locations.isEmpty()) {
+            return null;
+        }
+        if (!HttpMethod.GET.equals(request.method()) && !HttpMethod.HEAD.equals(request.method())) {
+            return null;
+        }
+        String path = ParamWrapperRequest.requestPath(request).path();
+        if (!path.startsWith(this.pathPrefix)) {
+            return null;
+        }
+        Path file = resolve(path.substring(this.pathPrefix.length()));
+        return file == null ? null : responseFactory.create(request, file);
+    }
+
+    /**
+     * @param relativePath
+     * @return
+     * @apiNote 在各个目录中查找文件，不允许访问目录以外的文件
+     */
+    @Nullable
+    private Path resolve(String relativePath) {
+        if (relativePath.isEmpty()) {
+            return null;
+        }
+        for (Path location : this.locations) {
+            Path file;
+            try {
+                file = location.resolve(relativePath).normalize();
+            } catch (InvalidPathException e) {
+                return null;
+            }
+            if (file.startsWith(location) && Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,308 @@
+package com.javaedit.terabithia.handler.web;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.handler.netty.FileRegionBodyWriter;
+import com.javaedit.terabithia.handler.netty.StreamingHttpResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.*;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+
+/**
+ * @author wjw
+ * @description: 根据文件创建响应，支持Range、If-Modified-Since，小文件从缓存中返回，其他文件用零拷贝的方式写出
+ * @title: ResourceResponseFactory
+ * @date 2026/10/18 16:35
+ */
+@Component
+public class ResourceResponseFactory implements InitializingBean, DisposableBean {
+
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html;charset=UTF-8");
+        CONTENT_TYPES.put("htm", "text/html;charset=UTF-8");
+        CONTENT_TYPES.put("css", "text/css;charset=UTF-8");
+        CONTENT_TYPES.put("js", "application/javascript;charset=UTF-8");
+        CONTENT_TYPES.put("mjs", "application/javascript;charset=UTF-8");
+        CONTENT_TYPES.put("json", "application/json;charset=UTF-8");
+        CONTENT_TYPES.put("txt", "text/plain;charset=UTF-8");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+        CONTENT_TYPES.put("webp", "image/webp");
+        CONTENT_TYPES.put("woff", "font/woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+        CONTENT_TYPES.put("wasm", "application/wasm");
+        CONTENT_TYPES.put("pdf", "application/pdf");
+        CONTENT_TYPES.put("zip", "application/zip");
+        CONTENT_TYPES.put("mp4", "video/mp4");
+    }
+
+    /**
+     * 预压缩文件的编码和扩展名，按优先级排列
+     */
+    private static final String[][] PRECOMPRESSED_VARIANTS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    @Autowired
+    private TerabithiaProperties properties;
+
+    private ResourceCache cache;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        TerabithiaProperties.Resources resources = properties.getResources();
+        this.cache = new ResourceCache(resources.getCacheMaxFileSize(), resources.getCacheMaxSize());
+    }
+
+    /**
+     * @param request
+     * @param file
+     * @return
+     * @apiNote 创建文件响应，文件不存在时返回404。客户端支持时优先返回预压缩的file.br或file.gz
+     * @author wjw
+     * @date 2026/10/18 16:38
+     */
+    public FullHttpResponse create(HttpRequest request, Path file) throws IOException {
+        String contentType = getContentType(file);
+        if (properties.getCompression().isPrecompressed() && Files.isRegularFile(file)) {
+            for (String[] variant : PRECOMPRESSED_VARIANTS) {
+                if (!acceptsEncoding(request, variant[0])) {
+                    continue;
+                }
+                Path encodedFile = file.resolveSibling(file.getFileName() + variant[1]);
+                if (Files.isRegularFile(encodedFile)) {
+                    FullHttpResponse response = create(request, encodedFile, contentType);
+                    response.headers().set(CONTENT_ENCODING, variant[0]);
+                    response.headers().set(VARY, ACCEPT_ENCODING);
+                    return response;
+                }
+            }
+        }
+        return create(request, file, contentType);
+    }
+
+    private FullHttpResponse create(HttpRequest request, Path file, String contentType) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return emptyResponse(HttpResponseStatus.NOT_FOUND);
+        }
+        if (!attributes.isRegularFile()) {
+            return emptyResponse(HttpResponseStatus.NOT_FOUND);
+        }
+        long length = attributes.size();
+        // http日期只精确到秒
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+
+        if (isNotModified(request, lastModified)) {
+            FullHttpResponse response = emptyResponse(HttpResponseStatus.NOT_MODIFIED);
+            response.headers().set(LAST_MODIFIED, DateFormatter.format(new Date(lastModified)));
+            return response;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpResponseStatus status = HttpResponseStatus.OK;
+        long[] range = parseRange(request, lastModified, length);
+        if (range != null) {
+            if (range.length == 0) {
+                FullHttpResponse response = emptyResponse(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.headers().set(CONTENT_RANGE, "bytes */" + length);
+                return response;
+            }
+            start = range[0];
+            end = range[1];
+            status = HttpResponseStatus.PARTIAL_CONTENT;
+        }
+        long contentLength = end - start + 1;
+
+        FullHttpResponse response;
+        if (HttpMethod.HEAD.equals(request.method())) {
+            response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        } else {
+            ByteBuf cached = cache.get(file, lastModified, length);
+            if (cached != null) {
+                ByteBuf content = status == HttpResponseStatus.OK ? cached : slice(cached, start, contentLength);
+                response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, content);
+            } else {
+                response = new StreamingHttpResponse(HttpVersion.HTTP_1_1, status,
+                        new FileRegionBodyWriter(file, start, contentLength));
+            }
+        }
+        HttpHeaders headers = response.headers();
+        headers.set(CONTENT_TYPE, contentType);
+        headers.set(LAST_MODIFIED, DateFormatter.format(new Date(lastModified)));
+        headers.set(ACCEPT_RANGES, HttpHeaderValues.BYTES);
+        headers.set(CONTENT_LENGTH, contentLength);
+        if (status == HttpResponseStatus.PARTIAL_CONTENT) {
+            headers.set(CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        return response;
+    }
+
+    /**
+     * @param request
+     * @param encoding
+     * @return
+     * @apiNote Accept-Encoding是否接受指定的编码。读取所有条目，编码本身的条目优先于*，q=0表示不接受，
+     * 比如"*;q=0, gzip"接受gzip，"*, gzip;q=0"不接受gzip
+     */
+    static boolean acceptsEncoding(HttpRequest request, String encoding) {
+        String acceptEncoding = request.headers().get(ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        // 小于0表示没有对应的条目
+        double exactQuality = -1;
+        double wildcardQuality = -1;
+        for (String item : acceptEncoding.split(",")) {
+            String[] parts = item.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(encoding)) {
+                exactQuality = Math.max(exactQuality, parseQuality(parts));
+            } else if ("*".equals(name)) {
+                wildcardQuality = Math.max(wildcardQuality, parseQuality(parts));
+            }
+        }
+        if (exactQuality >= 0) {
+            return exactQuality > 0;
+        }
+        return wildcardQuality > 0;
+    }
+
+    /**
+     * @param parts 条目按;拆分后的结果，第一个是编码
+     * @return 没有q参数时为1，q参数不合法时为0
+     */
+    private static double parseQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 1 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(param.substring(2).trim());
+                    return quality > 0 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private ByteBuf slice(ByteBuf cached, long start, long length) {
+        try {
+            return cached.retainedSlice(cached.readerIndex() + (int) start, (int) length);
+        } finally {
+            cached.release();
+        }
+    }
+
+    private boolean isNotModified(HttpRequest request, long lastModified) {
+        String ifModifiedSince = request.headers().get(IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        Date date = DateFormatter.parseHttpDate(ifModifiedSince);
+        return date != null && lastModified <= date.getTime();
+    }
+
+    /**
+     * @param request
+     * @param lastModified
+     * @param length
+     * @return 没有Range或者不支持时返回null，范围无效时返回空数组，否则返回[start, end]
+     * @apiNote 解析单个Range，多个范围时返回整个文件
+     * @author wjw
+     * @date 2026/10/18 16:42
+     */
+    @Nullable
+    private long[] parseRange(HttpRequest request, long lastModified, long length) {
+        String range = request.headers().get(RANGE);
+        if (range == null || !HttpMethod.GET.equals(request.method()) || !range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        // If-Range不匹配时返回整个文件
+        String ifRange = request.headers().get(IF_RANGE);
+        if (ifRange != null) {
+            Date date = DateFormatter.parseHttpDate(ifRange);
+            if (date == null || date.getTime() != lastModified) {
+                return null;
+            }
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-500，最后500个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(length - suffix, 0);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start >= length || start > end) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String getContentType(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            String contentType = CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+            if (contentType != null) {
+                return contentType;
+            }
+        }
+        String contentType = URLConnection.guessContentTypeFromName(name);
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    /**
+     * @param status
+     * @return
+     * @apiNote 创建没有响应体的响应
+     */
+    public FullHttpResponse emptyResponse(HttpResponseStatus status) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        response.headers().setInt(CONTENT_LENGTH, 0);
+        return response;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.cache.clear();
+    }
+}
@@ -0,0 +1,300 @@
+package com.javaedit.terabithia.handler.web;
+
+import com.javaedit.terabithia.utils.JackSonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author wjw
+ * @description: Server-Sent Events，handler返回后连接保持打开，可以在任意线程中调用send推送事件。
+ * 事件先放进有界队列，由IO线程在连接可写时写出，队列满时按SseOverflowPolicy丢弃或者断开，
+ * 慢客户端不会占用更多内存
+ * @title: SseEmitter
+ * @date 2026/10/18 20:45
+ */
+@Slf4j
+public class SseEmitter {
+
+    @Nullable
+    private Integer queueCapacity;
+
+    @Nullable
+    private SseOverflowPolicy overflowPolicy;
+
+    /**
+     * 编码后的事件，连接建立前发送的事件也先放在这里
+     */
+    private final ArrayDeque<String> queue = new ArrayDeque<>(4);
+
+    private boolean completed;
+
+    /**
+     * 连接已经断开或者因为队列满被断开
+     */
+    private boolean closed;
+
+    @Nullable
+    private Runnable dataListener;
+
+    @Nullable
+    private Runnable disconnectAction;
+
+    @Nullable
+    private List<Runnable> completionCallbacks;
+
+    /**
+     * 使用terabithia.sse中的队列配置
+     */
+    public SseEmitter() {
+    }
+
+    /**
+     * @param queueCapacity  未写出的事件数上限
+     * @param overflowPolicy 队列满时的处理方式
+     */
+    public SseEmitter(int queueCapacity, SseOverflowPolicy overflowPolicy) {
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return
+     * @apiNote 创建事件，可以设置id、event、retry
+     */
+    public static SseEventBuilder event() {
+        return new SseEventBuilder();
+    }
+
+    /**
+     * @param data 字符串原样发送，其他对象序列化为json
+     * @apiNote 发送只有data的事件
+     */
+    public void send(Object data) throws IOException {
+        send(event().data(data));
+    }
+
+    /**
+     * @param event
+     * @apiNote 发送事件，连接已经断开或者已经调用过complete时抛出IOException，生产者可以据此取消订阅
+     * @author wjw
+     * @date 2026/10/18 20:50
+     */
+    public void send(SseEventBuilder event) throws IOException {
+        enqueue(event.build());
+    }
+
+    /**
+     * @apiNote 写出队列中剩余的事件后结束响应
+     */
+    public void complete() {
+        Runnable listener;
+        synchronized (this) {
+            if (this.completed || this.closed) {
+                return;
+            }
+            this.completed = true;
+            listener = this.dataListener;
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param callback
+     * @apiNote 响应结束或者连接断开时回调，用于取消订阅
+     */
+    public synchronized void onCompletion(Runnable callback) {
+        if (this.completionCallbacks == null) {
+            this.completionCallbacks = new ArrayList<>(1);
+        }
+        this.completionCallbacks.add(callback);
+    }
+
+    private void enqueue(String event) throws IOException {
+        Runnable listener;
+        Runnable disconnect = null;
+        synchronized (this) {
+            if (this.closed) {
+                throw new IOException("SSE connection is closed");
+            }
+            if (this.completed) {
+                throw new IOException("SseEmitter is already completed");
+            }
+            if (this.queueCapacity != null && this.queue.size() >= this.queueCapacity) {
+                if (this.overflowPolicy == SseOverflowPolicy.DISCONNECT) {
+                    disconnect = this.disconnectAction;
+                } else {
+                    this.queue.poll();
+                }
+            }
+            if (disconnect == null) {
+                this.queue.add(event);
+            }
+            // 队列原来为空时IO线程可能已经停止读取，需要通知
+            listener = this.queue.size() == 1 ? this.dataListener : null;
+        }
+        if (disconnect != null) {
+            disconnect.run();
+            throw new IOException("SSE client is too slow, disconnected");
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param dataListener     队列由空变为非空或者complete时调用
+     * @param disconnectAction 队列满并且策略为DISCONNECT时调用
+     * @param queueCapacity    没有单独设置时使用的队列上限
+     * @param overflowPolicy   没有单独设置时使用的策略
+     * @apiNote 响应头写出后由框架调用，之前发送的事件留在队列中
+     */
+    public void bind(Runnable dataListener, Runnable disconnectAction, int queueCapacity, SseOverflowPolicy overflowPolicy) {
+        Runnable listener;
+        synchronized (this) {
+            this.dataListener = dataListener;
+            this.disconnectAction = disconnectAction;
+            if (this.queueCapacity == null) {
+                this.queueCapacity = Math.max(queueCapacity, 1);
+            }
+            if (this.overflowPolicy == null) {
+                this.overflowPolicy = overflowPolicy;
+            }
+            listener = !this.queue.isEmpty() || this.completed ? dataListener : null;
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param comment
+     * @apiNote 队列为空时发送注释，用于心跳，由框架在IO线程中调用
+     */
+    public void heartbeat(String comment) {
+        Runnable listener = null;
+        synchronized (this) {
+            if (this.queue.isEmpty() && !this.completed && !this.closed) {
+                this.queue.add(":" + comment + "\n\n");
+                listener = this.dataListener;
+            }
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param maxChars 最多取出的字符数，至少取出一个事件
+     * @return 队列为空时返回null
+     * @apiNote 取出待写出的事件，由框架在IO线程中调用
+     */
+    @Nullable
+    public synchronized String poll(int maxChars) {
+        String first = this.queue.poll();
+        if (first == null || this.queue.isEmpty() || first.length() >= maxChars) {
+            return first;
+        }
+        StringBuilder sb = new StringBuilder(first);
+        while (!this.queue.isEmpty() && sb.length() + this.queue.peek().length() <= maxChars) {
+            sb.append(this.queue.poll());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return
+     * @apiNote 已经complete并且队列中的事件都已取出
+     */
+    public synchronized boolean isDrained() {
+        return (this.completed || this.closed) && this.queue.isEmpty();
+    }
+
+    /**
+     * @apiNote 响应结束或者连接断开，由框架调用，清空队列并回调onCompletion
+     */
+    public void close() {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.queue.clear();
+            callbacks = this.completionCallbacks;
+            this.completionCallbacks = null;
+        }
+        if (callbacks != null) {
+            for (Runnable callback : callbacks) {
+                try {
+                    callback.run();
+                } catch (Throwable ex) {
+                    log.error("SseEmitter completion callback threw exception", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 事件，按照text/event-stream的格式编码
+     */
+    public static class SseEventBuilder {
+
+        private final StringBuilder sb = new StringBuilder(64);
+
+        @Nullable
+        private Object data;
+
+        public SseEventBuilder id(String id) {
+            appendField("id", id);
+            return this;
+        }
+
+        public SseEventBuilder name(String name) {
+            appendField("event", name);
+            return this;
+        }
+
+        public SseEventBuilder retry(long reconnectTimeMillis) {
+            appendField("retry", String.valueOf(reconnectTimeMillis));
+            return this;
+        }
+
+        public SseEventBuilder comment(String comment) {
+            appendField("", comment);
+            return this;
+        }
+
+        /**
+         * @param data 字符串原样发送，其他对象序列化为json
+         */
+        public SseEventBuilder data(Object data) {
+            this.data = data;
+            return this;
+        }
+
+        private void appendField(String name, String value) {
+            // 多行的值每行都要加上字段名
+            for (String line : value.split("\r\n|\r|\n", -1)) {
+                this.sb.append(name).append(':').append(line).append('\n');
+            }
+        }
+
+        String build() {
+            StringBuilder event = new StringBuilder(this.sb);
+            if (this.data != null) {
+                String text = this.data instanceof CharSequence ? this.data.toString() : JackSonUtil.toJsonString(this.data);
+                for (String line : text.split("\r\n|\r|\n", -1)) {
+                    event.append("data:").append(line).append('\n');
+                }
+            }
+            return event.append('\n').toString();
+        }
+    }
+}
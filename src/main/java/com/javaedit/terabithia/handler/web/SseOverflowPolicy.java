@@ -0,0 +1,21 @@
+package com.javaedit.terabithia.handler.web;
+
+/**
+ * @author wjw
+ * @description: SseEmitter的队列满时（客户端接收太慢）的处理方式
+ * @title: SseOverflowPolicy
+ * @date 2026/10/18 20:40
+ */
+public enum SseOverflowPolicy {
+
+    /**
+     * 丢弃最早的事件，适合只关心最新值的推送，比如行情
+     */
+    DROP_OLDEST,
+
+    /**
+     * 断开连接，客户端重连后重新获取
+     */
+    DISCONNECT
+
+}
@@ -0,0 +1,64 @@
+package com.javaedit.terabithia.handler.web;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.FullHttpRequest;
+
+/**
+ * @author wjw
+ * @description: WebSocket端点，由@WebSocketMapping注册。所有回调都在连接的IO线程中执行，同一个连接的回调不会并发，
+ * 不能执行阻塞的操作
+ * @title: WebSocketHandler
+ * @date 2026/10/18 21:22
+ */
+public interface WebSocketHandler {
+
+    /**
+     * @param request
+     * @return 返回false时拒绝握手，响应403
+     * @apiNote 握手之前执行，可以在这里校验身份，WebSocket的升级请求不经过HandlerInterceptor
+     */
+    default boolean beforeHandshake(FullHttpRequest request) throws Exception {
+        return true;
+    }
+
+    /**
+     * @param session
+     * @apiNote 握手完成后执行
+     */
+    default void onOpen(WebSocketSession session) throws Exception {
+    }
+
+    /**
+     * @param session
+     * @param text    分片的消息已经合并
+     * @apiNote 收到文本消息
+     */
+    default void onText(WebSocketSession session, String text) throws Exception {
+    }
+
+    /**
+     * @param session
+     * @param data    收到的帧的内容，没有复制，回调返回后释放，需要保留时调用retain
+     * @apiNote 收到二进制消息
+     */
+    default void onBinary(WebSocketSession session, ByteBuf data) throws Exception {
+    }
+
+    /**
+     * @param session
+     * @param statusCode 客户端发送的关闭码，连接异常断开时为1006
+     * @param reason
+     * @apiNote 连接关闭后执行
+     */
+    default void onClose(WebSocketSession session, int statusCode, String reason) throws Exception {
+    }
+
+    /**
+     * @param session
+     * @param cause
+     * @apiNote 回调抛出异常或者收到非法的帧时执行，默认以1011关闭连接
+     */
+    default void onError(WebSocketSession session, Throwable cause) throws Exception {
+        session.close(1011, "Internal Error");
+    }
+}
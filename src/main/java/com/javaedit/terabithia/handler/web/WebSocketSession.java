@@ -0,0 +1,102 @@
+package com.javaedit.terabithia.handler.web;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author wjw
+ * @description: 一个WebSocket连接，send方法可以在任意线程中调用
+ * @title: WebSocketSession
+ * @date 2026/10/18 21:25
+ */
+public class WebSocketSession {
+
+    private final Channel channel;
+
+    private final String uri;
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    public WebSocketSession(Channel channel, String uri) {
+        this.channel = channel;
+        this.uri = uri;
+    }
+
+    public String getId() {
+        return this.channel.id().asShortText();
+    }
+
+    /**
+     * @return 握手请求的uri，包含参数
+     */
+    public String getUri() {
+        return this.uri;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return this.attributes;
+    }
+
+    public Channel getChannel() {
+        return this.channel;
+    }
+
+    public boolean isOpen() {
+        return this.channel.isActive();
+    }
+
+    /**
+     * @return 写缓冲区超过高水位时为false，生产者可以据此丢弃或延后消息
+     */
+    public boolean isWritable() {
+        return this.channel.isWritable();
+    }
+
+    /**
+     * @param text
+     * @return
+     * @apiNote 发送文本消息，直接编码到池化的内存中
+     */
+    public ChannelFuture sendText(CharSequence text) {
+        return send(new TextWebSocketFrame(ByteBufUtil.writeUtf8(this.channel.alloc(), text)));
+    }
+
+    /**
+     * @param data 写出后释放，调用方不能再使用
+     * @return
+     * @apiNote 发送二进制消息，不复制data
+     */
+    public ChannelFuture sendBinary(ByteBuf data) {
+        return send(new BinaryWebSocketFrame(data));
+    }
+
+    public ChannelFuture send(WebSocketFrame frame) {
+        return this.channel.writeAndFlush(frame);
+    }
+
+    public void close() {
+        close(1000, "");
+    }
+
+    /**
+     * @param statusCode
+     * @param reason
+     * @apiNote 发送关闭帧后关闭连接
+     */
+    public void close(int statusCode, String reason) {
+        if (!this.channel.isActive()) {
+            return;
+        }
+        this.channel.writeAndFlush(new CloseWebSocketFrame(statusCode, reason)).addListener(ChannelFutureListener.CLOSE);
+    }
+}
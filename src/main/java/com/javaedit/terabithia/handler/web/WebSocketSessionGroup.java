@@ -0,0 +1,80 @@
+package com.javaedit.terabithia.handler.web;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelGroupFuture;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
+/**
+ * @author wjw
+ * @description: 一组WebSocket连接，用于广播。消息只编码一次，每个连接写出的是同一块内存的retainedDuplicate，
+ * 全部写出后释放。写缓冲区超过高水位的连接跳过本次消息，慢客户端不会让服务端堆积内存。连接关闭后自动移出
+ * @title: WebSocketSessionGroup
+ * @date 2026/10/18 21:30
+ */
+public class WebSocketSessionGroup {
+
+    private static final ChannelMatcher WRITABLE = Channel::isWritable;
+
+    private final ChannelGroup channels;
+
+    public WebSocketSessionGroup(String name) {
+        this.channels = new DefaultChannelGroup(name, GlobalEventExecutor.INSTANCE);
+    }
+
+    public boolean add(WebSocketSession session) {
+        return this.channels.add(session.getChannel());
+    }
+
+    public boolean remove(WebSocketSession session) {
+        return this.channels.remove(session.getChannel());
+    }
+
+    public int size() {
+        return this.channels.size();
+    }
+
+    /**
+     * @param text
+     * @return
+     * @apiNote 广播文本消息
+     */
+    public ChannelGroupFuture broadcastText(CharSequence text) {
+        return broadcast(new TextWebSocketFrame(ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, text)));
+    }
+
+    /**
+     * @param data 全部写出后释放，调用方不能再使用
+     * @return
+     * @apiNote 广播二进制消息，不复制data
+     */
+    public ChannelGroupFuture broadcastBinary(ByteBuf data) {
+        return broadcast(new BinaryWebSocketFrame(data));
+    }
+
+    /**
+     * @param frame 全部写出后释放
+     * @return
+     * @apiNote 把同一个帧写给所有可写的连接
+     * @author wjw
+     * @date 2026/10/18 21:32
+     */
+    public ChannelGroupFuture broadcast(WebSocketFrame frame) {
+        return this.channels.writeAndFlush(frame, WRITABLE);
+    }
+
+    /**
+     * @apiNote 关闭所有连接
+     */
+    public ChannelGroupFuture close() {
+        return this.channels.close();
+    }
+}
@@ -84,7 +84,7 @@ public class HandlerMethod {
         this.parameters = handlerMethod.parameters;
     }
 
-    private HandlerMethod(HandlerMethod handlerMethod, Object handler) {
+    protected HandlerMethod(HandlerMethod handlerMethod, Object handler) {
         Assert.notNull(handlerMethod, "HandlerMethod is required");
         Assert.notNull(handler, "Handler object is required");
         this.bean = handler;
@@ -104,25 +104,49 @@ public class HandlerMethod {
         return result;
     }
 
+    /**
+     * Return the HandlerMethod return type.
+     */
+    public MethodParameter getReturnType() {
+        return new HandlerMethodParameter(-1);
+    }
+
     public MethodParameter getReturnValueType(@Nullable Object returnValue) {
-        return new ReturnValueMethodParameter(returnValue);
+        return new ReturnValueMethodParameter(returnValue != null ? returnValue.getClass() : null);
     }
 
     /**
      * @return
-     * @apiNote 因为bean有可能是字符串，所以需要转换下
+     * @apiNote 因为bean有可能是字符串，所以需要转换下。bean已经是实例时返回自身，不创建对象
      * @author wjw
      * @date 2022/6/14 17:08
      */
     public HandlerMethod createWithResolvedBean() {
-        Object handler = this.bean;
-        if (this.bean instanceof String) {
-            Assert.state(this.beanFactory != null, "Cannot resolve bean name without BeanFactory");
-            String beanName = (String) this.bean;
-            handler = this.beanFactory.getBean(beanName);
+        if (!(this.bean instanceof String)) {
+            return this;
         }
-        // 疑问：每次都创建对象，会不会有性能问题？
-        return new HandlerMethod(this, handler);
+        return new HandlerMethod(this, resolveBean());
+    }
+
+    /**
+     * @return
+     * @apiNote 从BeanFactory中获取bean
+     * @author wjw
+     * @date 2026/10/18 23:30
+     */
+    protected Object resolveBean() {
+        Assert.state(this.beanFactory != null, "Cannot resolve bean name without BeanFactory");
+        return this.beanFactory.getBean((String) this.bean);
+    }
+
+    /**
+     * @return
+     * @apiNote bean是否已经是实例
+     * @author wjw
+     * @date 2026/10/18 23:30
+     */
+    public boolean isBeanResolved() {
+        return !(this.bean instanceof String);
     }
 
 
@@ -157,24 +181,35 @@ public class HandlerMethod {
         return this.bean;
     }
 
+    public Class<?> getBeanType() {
+        return this.beanType;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
     private class ReturnValueMethodParameter extends HandlerMethodParameter {
 
+        /**
+         * 只保存返回值的类型，可以缓存复用，不持有返回值
+         */
         @Nullable
-        private final Object returnValue;
+        private final Class<?> returnValueType;
 
-        public ReturnValueMethodParameter(@Nullable Object returnValue) {
+        public ReturnValueMethodParameter(@Nullable Class<?> returnValueType) {
             super(-1);
-            this.returnValue = returnValue;
+            this.returnValueType = returnValueType;
         }
 
         protected ReturnValueMethodParameter(ReturnValueMethodParameter original) {
             super(original);
-            this.returnValue = original.returnValue;
+            this.returnValueType = original.returnValueType;
         }
 
         @Override
         public Class<?> getParameterType() {
-            return (this.returnValue != null ? this.returnValue.getClass() : super.getParameterType());
+            return (this.returnValueType != null ? this.returnValueType : super.getParameterType());
         }
 
         @Override
@@ -0,0 +1,387 @@
+package com.javaedit.terabithia.method;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author wjw
+ * @description: 路由表，按字符压缩公共前缀的基数树。支持字面量、{var}、{var:regex}和结尾的**，
+ * 变量和**必须占据一整段。匹配时直接比较请求路径中的字符，不切分、不创建子串，变量只记录起止位置，
+ * 查找的开销只和路径长度有关，和路由数量无关。优先级：字面量 > 带正则的变量 > 变量 > **，前面的分支匹配失败时回溯
+ * @title: PathTrie
+ * @date 2026/10/18 22:05
+ */
+public class PathTrie<T> {
+
+    private static final String CATCH_ALL = "**";
+
+    private final Node<T> root = new Node<>("", null);
+
+    /**
+     * 单个路由最多的变量数，用于确定记录变量位置的数组大小
+     */
+    private int maxVariables;
+
+    /**
+     * @param pattern 以/开头的路由
+     * @param value
+     * @return
+     * @apiNote 注册路由，结构相同的路由（如/a/{id}和/a/{name}）是同一个路由，替换原来的值。
+     * 变量名不保存在树中，由调用方按normalize的结果分组后自行保存
+     * @author wjw
+     * @date 2026/10/18 22:08
+     */
+    public void insert(String pattern, T value) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Path pattern must start with '/': " + pattern);
+        }
+        List<String> variableNames = new ArrayList<>(2);
+        Route<T> route = new Route<>(normalize(pattern, variableNames), value);
+        Node<T> node = this.root;
+        boolean catchAll = false;
+        StringBuilder literal = new StringBuilder("/");
+        String[] segments = pattern.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (CATCH_ALL.equals(segment)) {
+                if (!last) {
+                    throw new IllegalArgumentException("'**' is only allowed as the last segment: " + pattern);
+                }
+                // /files/**也匹配/files，所以**前面的/不作为字面量
+                literal.setLength(literal.length() - 1);
+                node = insertLiteral(node, literal.toString());
+                catchAll = true;
+                break;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String variable = segment.substring(1, segment.length() - 1);
+                int colon = variable.indexOf(':');
+                node = insertLiteral(node, literal.toString());
+                node = node.variableChild(colon < 0 ? null : variable.substring(colon + 1));
+                literal.setLength(0);
+            } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0 || segment.contains(CATCH_ALL)) {
+                throw new IllegalArgumentException("Variables and '**' must occupy a whole segment: " + pattern);
+            } else {
+                literal.append(segment);
+            }
+            if (!last) {
+                literal.append('/');
+            }
+        }
+        if (!catchAll) {
+            node = insertLiteral(node, literal.toString());
+        }
+        Route<T> existing = catchAll ? node.catchAll : node.route;
+        if (existing != null && !existing.pattern.equals(route.pattern)) {
+            throw new IllegalArgumentException("Ambiguous path patterns '" + existing.pattern + "' and '" + route.pattern + "'");
+        }
+        if (catchAll) {
+            node.catchAll = route;
+        } else {
+            node.route = route;
+        }
+        this.maxVariables = Math.max(this.maxVariables, variableNames.size());
+    }
+
+    /**
+     * @param node
+     * @param literal
+     * @return 字面量结束位置的节点
+     * @apiNote 在node后面插入字面量，和已有的子节点有公共前缀时拆分子节点
+     */
+    private Node<T> insertLiteral(Node<T> node, String literal) {
+        while (!literal.isEmpty()) {
+            Node<T> child = node.literalChild(literal.charAt(0));
+            if (child == null) {
+                child = new Node<>(literal, null);
+                node.addLiteralChild(child);
+                return child;
+            }
+            int common = commonPrefixLength(child.prefix, literal);
+            if (common < child.prefix.length()) {
+                child.split(common);
+            }
+            node = child;
+            literal = literal.substring(common);
+        }
+        return node;
+    }
+
+    /**
+     * @param pattern
+     * @param variableNames 按出现的顺序填入变量名
+     * @return 变量名替换为空，只保留正则的路由，如/orders/{id:\d+}/{name}为/orders/{:\d+}/{}
+     * @apiNote 规范化路由，规范化后相同的路由在树中是同一个节点
+     * @author wjw
+     * @date 2026/10/19 11:40
+     */
+    public static String normalize(String pattern, List<String> variableNames) {
+        StringBuilder normalized = new StringBuilder(pattern.length());
+        String[] segments = pattern.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (i > 0) {
+                normalized.append('/');
+            }
+            if (segment.length() >= 2 && segment.startsWith("{") && segment.endsWith("}")) {
+                String variable = segment.substring(1, segment.length() - 1);
+                int colon = variable.indexOf(':');
+                String name = colon < 0 ? variable : variable.substring(0, colon);
+                if (name.isEmpty() || variableNames.contains(name)) {
+                    throw new IllegalArgumentException("Invalid or duplicate variable '" + name + "' in " + pattern);
+                }
+                variableNames.add(name);
+                normalized.append('{').append(colon < 0 ? "" : variable.substring(colon)).append('}');
+            } else {
+                normalized.append(segment);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @param path     请求路径
+     * @param captures 记录变量起止位置的数组，长度不小于2 * getMaxVariables()，第i个变量在[captures[2i], captures[2i+1])
+     * @return 没有匹配的路由时返回null
+     * @apiNote 查找路由，不分配内存
+     * @author wjw
+     * @date 2026/10/18 22:15
+     */
+    @Nullable
+    public Route<T> match(String path, int[] captures) {
+        return match(path, 0, path.length(), captures);
+    }
+
+    /**
+     * @param source   包含请求路径的字符串，如请求行中的uri
+     * @param start    路径的开始位置
+     * @param end      路径的结束位置
+     * @param captures 同match(String, int[])，记录的位置是在source中的位置
+     * @return 没有匹配的路由时返回null
+     * @apiNote 在source的[start, end)上查找路由，不需要先截取路径
+     * @author wjw
+     * @date 2026/10/18 23:05
+     */
+    @Nullable
+    public Route<T> match(String source, int start, int end, int[] captures) {
+        return find(this.root, source, start, end, captures, 0);
+    }
+
+    /**
+     * @param node   前缀已经匹配的节点
+     * @param pos    path中下一个要匹配的位置
+     * @param length 路径的结束位置
+     * @param index  下一个变量的序号
+     */
+    @Nullable
+    private Route<T> find(Node<T> node, String path, int pos, int length, int[] captures, int index) {
+        if (pos == length && node.route != null) {
+            return node.route;
+        }
+        if (pos < length) {
+            Node<T> child = node.literalChild(path.charAt(pos));
+            int prefixLength = child == null ? 0 : child.prefix.length();
+            if (child != null && pos + prefixLength <= length && path.regionMatches(pos, child.prefix, 0, prefixLength)) {
+                Route<T> route = find(child, path, pos + prefixLength, length, captures, index);
+                if (route != null) {
+                    return route;
+                }
+            }
+            if (node.variables.length > 0) {
+                int end = path.indexOf('/', pos);
+                if (end < 0 || end > length) {
+                    end = length;
+                }
+                // 变量不匹配空的段
+                if (end > pos) {
+                    for (Node<T> variable : node.variables) {
+                        if (!variable.matches(path, pos, end)) {
+                            continue;
+                        }
+                        captures[2 * index] = pos;
+                        captures[2 * index + 1] = end;
+                        Route<T> route = find(variable, path, end, length, captures, index + 1);
+                        if (route != null) {
+                            return route;
+                        }
+                    }
+                }
+            }
+        }
+        if (node.catchAll != null && (pos == length || path.charAt(pos) == '/')) {
+            return node.catchAll;
+        }
+        return null;
+    }
+
+    public int getMaxVariables() {
+        return this.maxVariables;
+    }
+
+    /**
+     * 注册的路由
+     */
+    public static class Route<T> {
+
+        /**
+         * 规范化后的路由
+         */
+        private final String pattern;
+
+        private final T value;
+
+        Route(String pattern, T value) {
+            this.pattern = pattern;
+            this.value = value;
+        }
+
+        /**
+         * @return 规范化后的路由，见normalize
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static class Node<T> {
+
+        private static final char[] EMPTY_INDICES = new char[0];
+
+        /**
+         * 变量节点为空字符串
+         */
+        private String prefix;
+
+        /**
+         * 字面量子节点的第一个字符，和literalChildren一一对应
+         */
+        private char[] indices = EMPTY_INDICES;
+
+        private Node<T>[] literalChildren = newArray(0);
+
+        /**
+         * 变量子节点，带正则的排在前面
+         */
+        private Node<T>[] variables = newArray(0);
+
+        @Nullable
+        private Route<T> route;
+
+        @Nullable
+        private Route<T> catchAll;
+
+        /**
+         * 变量的正则，为null时匹配任意非空的段
+         */
+        @Nullable
+        private final Pattern regex;
+
+        /**
+         * 每个线程复用一个Matcher，匹配时不创建对象
+         */
+        @Nullable
+        private final FastThreadLocal<Matcher> matchers;
+
+        Node(String prefix, @Nullable String regex) {
+            this.prefix = prefix;
+            this.regex = regex == null ? null : Pattern.compile(regex);
+            this.matchers = this.regex == null ? null : new FastThreadLocal<Matcher>() {
+                @Override
+                protected Matcher initialValue() {
+                    return Node.this.regex.matcher("");
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int length) {
+            return new Node[length];
+        }
+
+        @Nullable
+        Node<T> literalChild(char c) {
+            char[] indices = this.indices;
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] == c) {
+                    return this.literalChildren[i];
+                }
+            }
+            return null;
+        }
+
+        void addLiteralChild(Node<T> child) {
+            int length = this.indices.length;
+            this.indices = Arrays.copyOf(this.indices, length + 1);
+            this.indices[length] = child.prefix.charAt(0);
+            this.literalChildren = Arrays.copyOf(this.literalChildren, length + 1);
+            this.literalChildren[length] = child;
+        }
+
+        Node<T> variableChild(@Nullable String regex) {
+            for (Node<T> variable : this.variables) {
+                String existing = variable.regex == null ? null : variable.regex.pattern();
+                if (regex == null ? existing == null : regex.equals(existing)) {
+                    return variable;
+                }
+            }
+            Node<T> child = new Node<>("", regex);
+            List<Node<T>> variables = new ArrayList<>(Arrays.asList(this.variables));
+            // 带正则的变量更具体，先尝试
+            int index = regex == null ? variables.size() : 0;
+            variables.add(index, child);
+            this.variables = variables.toArray(newArray(0));
+            return child;
+        }
+
+        boolean matches(String path, int start, int end) {
+            if (this.regex == null) {
+                return true;
+            }
+            Matcher matcher = this.matchers.get();
+            boolean matches = matcher.reset(path).region(start, end).matches();
+            // 不持有请求路径
+            matcher.reset("");
+            return matches;
+        }
+
+        /**
+         * @param at 保留的前缀长度
+         * @apiNote 拆分节点，前缀的剩余部分和原来的子节点、路由移到新的子节点中
+         */
+        void split(int at) {
+            Node<T> tail = new Node<>(this.prefix.substring(at), null);
+            tail.indices = this.indices;
+            tail.literalChildren = this.literalChildren;
+            tail.variables = this.variables;
+            tail.route = this.route;
+            tail.catchAll = this.catchAll;
+            this.prefix = this.prefix.substring(0, at);
+            this.indices = new char[]{tail.prefix.charAt(0)};
+            this.literalChildren = newArray(1);
+            this.literalChildren[0] = tail;
+            this.variables = newArray(0);
+            this.route = null;
+            this.catchAll = null;
+        }
+    }
+}
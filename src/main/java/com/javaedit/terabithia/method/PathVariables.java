@@ -0,0 +1,61 @@
+package com.javaedit.terabithia.method;
+
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author wjw
+ * @description: 路由匹配出的路径变量，只保存请求路径和变量的起止位置，获取时才创建字符串
+ * @title: PathVariables
+ * @date 2026/10/18 22:20
+ */
+public class PathVariables {
+
+    /**
+     * 没有变量的路由共用
+     */
+    public static final PathVariables EMPTY = new PathVariables("", new String[0], new int[0]);
+
+    /**
+     * 匹配路由时使用的字符串，路径不需要解码时是整个uri
+     */
+    private final String path;
+
+    private final String[] names;
+
+    /**
+     * 第i个变量在[offsets[2i], offsets[2i+1])
+     */
+    private final int[] offsets;
+
+    public PathVariables(String path, String[] names, int[] offsets) {
+        this.path = path;
+        this.names = names;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @param name
+     * @return 路由中没有这个变量时返回null
+     * @apiNote 获取路径变量的值
+     */
+    @Nullable
+    public String get(String name) {
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(name)) {
+                return this.path.substring(this.offsets[2 * i], this.offsets[2 * i + 1]);
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> toMap() {
+        Map<String, String> variables = new LinkedHashMap<>(this.names.length * 2);
+        for (String name : this.names) {
+            variables.put(name, get(name));
+        }
+        return variables;
+    }
+}
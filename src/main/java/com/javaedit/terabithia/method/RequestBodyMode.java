@@ -0,0 +1,26 @@
+package com.javaedit.terabithia.method;
+
+/**
+ * @author wjw
+ * @description: 路由接收请求体的方式，在注册时根据handler的参数确定
+ * @title: RequestBodyMode
+ * @date 2026/10/18 14:40
+ */
+public enum RequestBodyMode {
+
+    /**
+     * 请求体聚合为FullHttpRequest后再执行handler
+     */
+    AGGREGATE,
+
+    /**
+     * 收到请求头后就执行handler，请求体通过InputStream等参数边收边读
+     */
+    STREAM,
+
+    /**
+     * multipart请求体在IO线程中边收边解码，超过阈值的文件直接写入临时文件，解码完成后执行handler
+     */
+    MULTIPART
+
+}
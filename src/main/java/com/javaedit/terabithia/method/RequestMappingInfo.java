@@ -1,19 +1,13 @@
 package com.javaedit.terabithia.method;
 
-import com.javaedit.terabithia.exception.HttpRequestMethodNotSupportedException;
-import com.javaedit.terabithia.exception.ServletException;
 import com.javaedit.terabithia.method.annotation.RequestMethod;
-import io.netty.handler.codec.http.FullHttpRequest;
-import io.netty.handler.codec.http.HttpMethod;
 import lombok.Getter;
-import org.springframework.lang.Nullable;
 
-import java.util.HashSet;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * @author wjw
- * @description: 存储@RequestMapping相关信息的类，且用于判断请求是否符合条件
+ * @description: 存储@RequestMapping相关信息的类，路径和请求方法都相同时视为同一个映射
  * @title: RequestMappingInfo
  * @date 2022/6/11 14:47
  */
@@ -24,9 +18,19 @@ public class RequestMappingInfo {
 
     private RequestMethod[] methods = new RequestMethod[0];
 
+    /**
+     * 请求体最大字节数，小于0表示使用全局配置
+     */
+    private int maxContentLength = -1;
+
     public RequestMappingInfo(String path, RequestMethod[] methods) {
+        this(path, methods, -1);
+    }
+
+    public RequestMappingInfo(String path, RequestMethod[] methods, int maxContentLength) {
         this.path = path;
         this.methods = methods;
+        this.maxContentLength = maxContentLength;
     }
 
     public RequestMappingInfo combine(RequestMappingInfo other) {
@@ -44,46 +48,18 @@ public class RequestMappingInfo {
         for (RequestMethod method : other.getMethods()) {
             methods.add(method);
         }
-        return new RequestMappingInfo(path.toString().replace("//", "/"), methods.toArray(new RequestMethod[methods.size()]));
+        int maxContentLength = other.getMaxContentLength() >= 0 ? other.getMaxContentLength() : this.getMaxContentLength();
+        return new RequestMappingInfo(path.toString().replace("//", "/"), methods.toArray(new RequestMethod[methods.size()]), maxContentLength);
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
-    /**
-     * @param request
-     * @return
-     * @apiNote 判断请求是否符合条件
-     * @description 因为根据url就能找到此RequestMappingInfo，需要判断get、post等，所以需要此方法
-     * @author wjw
-     * @date 2022/6/11 15:28
-     */
-    @Nullable
-    public RequestMappingInfo getMatchingCondition(FullHttpRequest request) throws ServletException {
-        HttpMethod httpMethod = request.method();
-        if (methods.length > 0) {
-            boolean matchMethod = false;
-            for (RequestMethod method : methods) {
-                if (method.name().equals(httpMethod.name())) {
-                    matchMethod = true;
-                    break;
-                }
-            }
-            if (!matchMethod) {
-                String[] allowedMethods = new String[methods.length];
-                for (int i = 0; i < methods.length; i++) {
-                    allowedMethods[i] = methods[i].name();
-                }
-                throw new HttpRequestMethodNotSupportedException(httpMethod.name(), allowedMethods);
-            }
-        }
-        return this;
-    }
-
     public static class Builder {
         private String path;
         private RequestMethod[] methods = new RequestMethod[0];
+        private int maxContentLength = -1;
 
         public Builder paths(String path) {
             this.path = path;
@@ -95,11 +71,16 @@ public class RequestMappingInfo {
             return this;
         }
 
+        public Builder maxContentLength(int maxContentLength) {
+            this.maxContentLength = maxContentLength;
+            return this;
+        }
+
         public RequestMappingInfo build() {
             if (null != path && !path.startsWith("/")) {
                 path = "/" + path.replace("//", "/");
             }
-            return new RequestMappingInfo(path, methods);
+            return new RequestMappingInfo(path, methods, maxContentLength);
         }
     }
 
@@ -108,11 +89,24 @@ public class RequestMappingInfo {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RequestMappingInfo that = (RequestMappingInfo) o;
-        return Objects.equals(getPath(), that.getPath());
+        return Objects.equals(getPath(), that.getPath()) && methodSet().equals(that.methodSet());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getPath());
+        return Objects.hash(getPath(), methodSet());
+    }
+
+    /**
+     * @return
+     * @apiNote 请求方法的顺序不影响是否相等
+     */
+    private Set<RequestMethod> methodSet() {
+        return methods.length == 0 ? EnumSet.noneOf(RequestMethod.class) : EnumSet.copyOf(Arrays.asList(methods));
+    }
+
+    @Override
+    public String toString() {
+        return methods.length == 0 ? path : Arrays.toString(methods) + " " + path;
     }
 }
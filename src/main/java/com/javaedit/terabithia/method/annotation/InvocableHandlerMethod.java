@@ -1,7 +1,11 @@
 package com.javaedit.terabithia.method.annotation;
 
+import com.javaedit.terabithia.config.InvocationStrategy;
+import com.javaedit.terabithia.handler.netty.DeferredHttpResponse;
 import com.javaedit.terabithia.method.HandlerMethod;
 import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
+import com.javaedit.terabithia.method.support.HandlerMethodInvoker;
+import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
 import com.javaedit.terabithia.method.support.handler.HandlerMethodArgumentResolverComposite;
 import com.javaedit.terabithia.method.support.handler.HandlerMethodReturnValueHandlerComposite;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -12,10 +16,12 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.lang.reflect.Method;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Extension of {@link HandlerMethod} that invokes the underlying method with
@@ -34,32 +40,154 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
     private static final Object[] EMPTY_ARGS = new Object[0];
 
-    private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
 
-    private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final HandlerMethodReturnValueHandlerComposite returnValueHandlers;
+
+    /**
+     * 每个参数的解析器，创建时确定。没有支持的解析器时为null，调用时再抛出异常
+     */
+    private final HandlerMethodArgumentResolver[] argumentResolvers;
+
+    /**
+     * 注册时创建的调用器
+     */
+    private final HandlerMethodInvoker invoker;
+
+    /**
+     * 最近一次返回值的类型和对应的处理器，返回值类型不变时不再创建MethodParameter、遍历处理器
+     */
     @Nullable
-    private HandlerMethodReturnValueHandlerComposite returnValueHandlers;
+    private volatile ReturnValueBinding returnValueBinding;
 
-    public InvocableHandlerMethod(HandlerMethod handlerMethod) {
+    /**
+     * @param handlerMethod
+     * @param resolvers
+     * @param returnValueHandlers
+     * @param strategy            调用方法的方式
+     * @apiNote 创建时确定参数解析器和方法的调用器，之后不再修改，可以被所有请求共用
+     * @author wjw
+     * @date 2026/10/18 23:35
+     */
+    public InvocableHandlerMethod(HandlerMethod handlerMethod, HandlerMethodArgumentResolverComposite resolvers,
+                                  HandlerMethodReturnValueHandlerComposite returnValueHandlers, InvocationStrategy strategy) {
         super(handlerMethod);
+        this.returnValueHandlers = returnValueHandlers;
+        this.invoker = HandlerMethodInvoker.create(getBridgedMethod(), strategy);
+        MethodParameter[] parameters = getMethodParameters();
+        this.argumentResolvers = new HandlerMethodArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            // 名称解析器
+            parameters[i].initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+            this.argumentResolvers[i] = resolvers.getArgumentResolver(parameters[i]);
+        }
     }
 
+    private InvocableHandlerMethod(InvocableHandlerMethod handlerMethod, Object handler) {
+        super(handlerMethod, handler);
+        this.returnValueHandlers = handlerMethod.returnValueHandlers;
+        this.argumentResolvers = handlerMethod.argumentResolvers;
+        this.invoker = handlerMethod.invoker;
+        this.returnValueBinding = handlerMethod.returnValueBinding;
+    }
+
+    /**
+     * @return
+     * @apiNote prototype、懒加载的bean每次请求获取，共用解析器等已经确定的信息
+     * @author wjw
+     * @date 2026/10/18 23:38
+     */
+    @Override
+    public InvocableHandlerMethod createWithResolvedBean() {
+        if (isBeanResolved()) {
+            return this;
+        }
+        return new InvocableHandlerMethod(this, resolveBean());
+    }
 
     public FullHttpResponse invokeAndHandle(FullHttpRequest request) throws Exception {
         // 参数封装处理
         Object[] args = getMethodArgumentValues(request);
         // 调用方法
         Object returnValue = doInvoke(args);
+        if (returnValue instanceof CompletionStage) {
+            return handleAsyncReturnValue(((CompletionStage<?>) returnValue).toCompletableFuture(), request);
+        }
         // 处理返回值
-        return this.returnValueHandlers.handleReturnValue(returnValue, getReturnValueType(returnValue), request);
+        return handleReturnValue(returnValue, request);
     }
 
-    private Object doInvoke(Object... args) throws Exception {
-        Method method = getBridgedMethod();
-        // 将方法设置为可调用
-        ReflectionUtils.makeAccessible(method);
+    /**
+     * @param returnValue
+     * @param request
+     * @return
+     * @apiNote 按返回值的实际类型选择处理器，类型和上一次相同时直接使用缓存的结果
+     * @author wjw
+     * @date 2026/10/18 23:40
+     */
+    private FullHttpResponse handleReturnValue(@Nullable Object returnValue, FullHttpRequest request) throws Exception {
+        Class<?> returnValueType = returnValue != null ? returnValue.getClass() : null;
+        ReturnValueBinding binding = this.returnValueBinding;
+        if (binding == null || binding.returnValueType != returnValueType) {
+            MethodParameter returnType = getReturnValueType(returnValue);
+            binding = new ReturnValueBinding(returnValueType, returnType, this.returnValueHandlers.getReturnValueHandler(returnType));
+            this.returnValueBinding = binding;
+        }
+        if (binding.handler == null) {
+            throw new IllegalArgumentException("Unknown return value type: " + binding.returnType.getParameterType().getName());
+        }
+        return binding.handler.handleReturnValue(returnValue, binding.returnType, request);
+    }
 
-        return method.invoke(getBean(), args);
+    /**
+     * @param future
+     * @param request 需要保留到future完成
+     * @return
+     * @apiNote handler返回CompletionStage时不阻塞等待，future完成后再用返回值处理器处理结果
+     * @author wjw
+     * @date 2026/10/18 20:25
+     */
+    private FullHttpResponse handleAsyncReturnValue(CompletableFuture<?> future, FullHttpRequest request) {
+        CompletableFuture<FullHttpResponse> response = new CompletableFuture<>();
+        future.whenComplete((value, ex) -> {
+            if (ex != null) {
+                response.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                return;
+            }
+            FullHttpResponse result;
+            try {
+                result = handleReturnValue(value, request);
+            } catch (Throwable t) {
+                response.completeExceptionally(t);
+                return;
+            }
+            // 已经超时，响应不会再写出
+            if (!response.complete(result)) {
+                result.release();
+            }
+        });
+        return new DeferredHttpResponse(future, response);
+    }
+
+    /**
+     * @param args
+     * @return
+     * @apiNote 调用方法，统一两种调用方式的异常：handler抛出的Exception解开包装后直接抛出，
+     * 拦截器的afterCompletion和异常处理拿到的都是handler抛出的异常；Error仍然包装在InvocationTargetException中，
+     * 由调用方按异常处理返回500
+     * @author wjw
+     * @date 2026/10/19 10:40
+     */
+    private Object doInvoke(Object... args) throws Exception {
+        try {
+            return this.invoker.invoke(getBean(), args);
+        } catch (InvocationTargetException ex) {
+            Throwable target = ex.getTargetException();
+            if (target instanceof Exception) {
+                throw (Exception) target;
+            }
+            throw ex;
+        }
     }
 
     /**
@@ -79,14 +207,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
         Object[] args = new Object[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
             MethodParameter parameter = parameters[i];
-            // 名称解析器
-            parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+            HandlerMethodArgumentResolver resolver = this.argumentResolvers[i];
             // 解析器不支持该参数，则抛出异常
-            if (!this.resolvers.supportsParameter(parameter)) {
+            if (resolver == null) {
                 throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
             }
             try {
-                args[i] = this.resolvers.resolveArgument(parameter, request);
+                args[i] = resolver.resolveArgument(parameter, request);
             } catch (Exception ex) {
                 // Leave stack trace for later, exception may actually be resolved and handled...
                 if (log.isDebugEnabled()) {
@@ -107,11 +234,24 @@ public class InvocableHandlerMethod extends HandlerMethod {
                 param.getExecutable().toGenericString() + (StringUtils.hasText(message) ? ": " + message : "");
     }
 
-    public void setHandlerMethodReturnValueHandlers(HandlerMethodReturnValueHandlerComposite returnValueHandlers) {
-        this.returnValueHandlers = returnValueHandlers;
-    }
+    /**
+     * 返回值类型和处理器的绑定
+     */
+    private static class ReturnValueBinding {
+
+        @Nullable
+        private final Class<?> returnValueType;
 
-    public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite argumentResolvers) {
-        this.resolvers = argumentResolvers;
+        private final MethodParameter returnType;
+
+        @Nullable
+        private final HandlerMethodReturnValueHandler handler;
+
+        ReturnValueBinding(@Nullable Class<?> returnValueType, MethodParameter returnType,
+                           @Nullable HandlerMethodReturnValueHandler handler) {
+            this.returnValueType = returnValueType;
+            this.returnType = returnType;
+            this.handler = handler;
+        }
     }
 }
@@ -1,14 +1,22 @@
 package com.javaedit.terabithia.method.annotation;
 
+import com.fasterxml.jackson.databind.Module;
+import com.javaedit.terabithia.config.JsonBytecodeModule;
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.handler.web.ResourceResponseFactory;
 import com.javaedit.terabithia.method.HandlerMethod;
 import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
 import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
 import com.javaedit.terabithia.method.support.handler.*;
+import com.javaedit.terabithia.utils.JackSonUtil;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,27 +27,50 @@ import java.util.List;
  * @title: RequestMappingHandlerAdapter
  * @date 2022/6/14 11:21
  */
+@Slf4j
 @Component
 public class RequestMappingHandlerAdapter implements InitializingBean {
 
+    @Autowired
+    private ResourceResponseFactory resourceResponseFactory;
+
+    @Autowired
+    private TerabithiaProperties properties;
+
+    /**
+     * 同时处理@RequestBody参数和@ResponseBody返回值
+     */
+    private final RequestResponseBodyMethodProcessor requestResponseBodyMethodProcessor = new RequestResponseBodyMethodProcessor();
+
     @Nullable
     private HandlerMethodReturnValueHandlerComposite returnValueHandlers;
     @Nullable
     private HandlerMethodArgumentResolverComposite argumentResolvers;
 
     public FullHttpResponse handle(FullHttpRequest request, HandlerMethod handlerMethod) throws Exception {
-        InvocableHandlerMethod invocableMethod = new InvocableHandlerMethod(handlerMethod);
-        if (this.argumentResolvers != null) {
-            invocableMethod.setHandlerMethodArgumentResolvers(this.argumentResolvers);
-        }
-        if (this.returnValueHandlers != null) {
-            invocableMethod.setHandlerMethodReturnValueHandlers(this.returnValueHandlers);
-        }
+        // 注册的handler已经是InvocableHandlerMethod，不再每次创建
+        InvocableHandlerMethod invocableMethod = handlerMethod instanceof InvocableHandlerMethod ?
+                (InvocableHandlerMethod) handlerMethod : createInvocableHandlerMethod(handlerMethod);
         return invocableMethod.invokeAndHandle(request);
     }
 
+    /**
+     * @param handlerMethod
+     * @return
+     * @apiNote 创建可以直接调用的handler，注册路由时调用，参数解析器和返回值处理器只绑定一次
+     * @author wjw
+     * @date 2026/10/18 23:45
+     */
+    public InvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        Assert.state(this.argumentResolvers != null && this.returnValueHandlers != null, "RequestMappingHandlerAdapter is not initialized");
+        return new InvocableHandlerMethod(handlerMethod, this.argumentResolvers, this.returnValueHandlers,
+                properties.getDispatch().getInvocation());
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
+        // 在创建ObjectWriter之前注册json模块
+        registerJsonBytecodeModule();
         // 初始化内置参数处理器
         if (this.argumentResolvers == null) {
             List<HandlerMethodArgumentResolver> resolvers = getDefaultArgumentResolvers();
@@ -52,6 +83,25 @@ public class RequestMappingHandlerAdapter implements InitializingBean {
         }
     }
 
+    /**
+     * @apiNote 注册配置的字节码序列化模块，jar不在classpath中时继续使用反射
+     * @author wjw
+     * @date 2026/10/18 19:10
+     */
+    private void registerJsonBytecodeModule() {
+        JsonBytecodeModule bytecodeModule = properties.getJson().getBytecodeModule();
+        if (bytecodeModule == null || bytecodeModule == JsonBytecodeModule.NONE) {
+            return;
+        }
+        Module module = bytecodeModule.newModule();
+        if (module == null) {
+            log.warn("Jackson module {} is not available on the classpath, falling back to reflection", bytecodeModule);
+            return;
+        }
+        JackSonUtil.registerModule(module);
+        log.info("Registered jackson module {}", module.getModuleName());
+    }
+
     /**
      * @return
      * @apiNote 获取内置的参数处理器
@@ -59,8 +109,14 @@ public class RequestMappingHandlerAdapter implements InitializingBean {
      * @date 2022/6/20 11:11
      */
     protected List<HandlerMethodArgumentResolver> getDefaultArgumentResolvers() {
-        List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(2);
+        List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(6);
+        // 需要在基本数据类型之前，否则@RequestBody String会按请求参数处理
+        resolvers.add(requestResponseBodyMethodProcessor);
         resolvers.add(new NettyRequestMethodArgumentResolver());
+        resolvers.add(new RequestBodyStreamMethodArgumentResolver());
+        resolvers.add(new MultipartFileMethodArgumentResolver());
+        // 需要在基本数据类型之前，否则会按请求参数处理
+        resolvers.add(new PathVariableMethodArgumentResolver());
         resolvers.add(new RequestParamMethodArgumentResolver());
         return resolvers;
     }
@@ -72,8 +128,13 @@ public class RequestMappingHandlerAdapter implements InitializingBean {
      * @date 2022/6/15 11:48
      */
     protected List<HandlerMethodReturnValueHandler> getDefaultReturnValueHandlers() {
-        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(2);
-        handlers.add(new RequestResponseBodyMethodProcessor());
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(5);
+        // 需要在@ResponseBody之前，否则文件会被序列化为json
+        handlers.add(new FileMethodReturnValueHandler(resourceResponseFactory));
+        // 需要在@ResponseBody之前，否则Stream会被整体序列化
+        handlers.add(new StreamingJsonReturnValueHandler());
+        handlers.add(new SseEmitterReturnValueHandler(properties.getSse()));
+        handlers.add(requestResponseBodyMethodProcessor);
         handlers.add(new ViewNameMethodReturnValueHandler());
         return handlers;
     }
@@ -1,30 +1,54 @@
 package com.javaedit.terabithia.method.annotation;
 
+import com.javaedit.terabithia.annotation.Blocking;
+import com.javaedit.terabithia.annotation.NonBlocking;
 import com.javaedit.terabithia.annotation.RequestMapping;
+import com.javaedit.terabithia.annotation.WebSocketMapping;
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.exception.HttpRequestMethodNotSupportedException;
+import com.javaedit.terabithia.handler.executor.HandlerExecutorRegistry;
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.netty.RequestPath;
 import com.javaedit.terabithia.handler.web.HandlerExecutionChain;
 import com.javaedit.terabithia.handler.web.HandlerInterceptor;
+import com.javaedit.terabithia.handler.web.WebSocketHandler;
 import com.javaedit.terabithia.method.HandlerMethod;
+import com.javaedit.terabithia.method.PathTrie;
+import com.javaedit.terabithia.method.PathVariables;
+import com.javaedit.terabithia.method.RequestBodyMode;
 import com.javaedit.terabithia.method.RequestMappingInfo;
+import com.javaedit.terabithia.method.support.handler.MultipartFileMethodArgumentResolver;
+import com.javaedit.terabithia.method.support.handler.RequestResponseBodyMethodProcessor;
+import com.javaedit.terabithia.method.support.handler.StreamingJsonReturnValueHandler;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.util.concurrent.FastThreadLocal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.ClassUtils;
 
+import java.io.InputStream;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -50,12 +74,33 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Component
-public class RequestMappingHandlerMapping implements ApplicationContextAware, InitializingBean, BeanNameAware {
+public class RequestMappingHandlerMapping implements ApplicationContextAware, InitializingBean, SmartInitializingSingleton, BeanNameAware {
+
+    /**
+     * 匹配路由时记录路径变量位置的数组，每个线程复用
+     */
+    private static final FastThreadLocal<int[]> CAPTURES = new FastThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[0];
+        }
+    };
 
     private ApplicationContext applicationContext;
     private String beanName;
 
+    @Autowired
+    private HandlerExecutorRegistry executorRegistry;
+    @Autowired
+    private TerabithiaProperties properties;
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
     private final MappingRegistry mappingRegistry = new MappingRegistry();
+    /**
+     * WebSocket端点的路径和bean名称
+     */
+    private final Map<String, String> webSocketLookup = new HashMap<>();
     /**
      * 拦截器
      */
@@ -80,14 +125,54 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
         handlerMethodsInitialized(getHandlerMethods());
     }
 
+    /**
+     * @apiNote 所有单例bean创建完成后，获取非懒加载的单例handler，之后请求中不再从BeanFactory获取
+     * @author wjw
+     * @date 2026/10/18 23:50
+     */
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        HandlerInterceptor[] interceptors = this.interceptors.toArray(new HandlerInterceptor[0]);
+        for (MappingRegistration registration : this.mappingRegistry.getRegistrations().values()) {
+            HandlerMethod handlerMethod = registration.getHandlerMethod();
+            Object bean = handlerMethod.getBean();
+            if (bean instanceof String && isEagerSingleton((String) bean)) {
+                registration.handlerMethod = handlerMethod.createWithResolvedBean();
+                registration.initExecutionChain(interceptors);
+            }
+        }
+    }
+
+    private boolean isEagerSingleton(String beanName) {
+        if (!applicationContext.isSingleton(beanName)) {
+            return false;
+        }
+        AutowireCapableBeanFactory beanFactory = applicationContext.getAutowireCapableBeanFactory();
+        if (beanFactory instanceof ConfigurableListableBeanFactory
+                && ((ConfigurableListableBeanFactory) beanFactory).containsBeanDefinition(beanName)) {
+            return !((ConfigurableListableBeanFactory) beanFactory).getBeanDefinition(beanName).isLazyInit();
+        }
+        return true;
+    }
+
     public Map<RequestMappingInfo, HandlerMethod> getHandlerMethods() {
         return Collections.unmodifiableMap(
                 this.mappingRegistry.getRegistrations().entrySet().stream()
                         .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().handlerMethod)));
     }
 
-    public void addInterceptor(HandlerInterceptor interceptor) {
+    /**
+     * @param interceptor
+     * @apiNote 添加拦截器，重新创建所有路由的处理器链条
+     * @author wjw
+     * @date 2022/6/17 11:40
+     */
+    public synchronized void addInterceptor(HandlerInterceptor interceptor) {
         this.interceptors.add(interceptor);
+        HandlerInterceptor[] interceptors = this.interceptors.toArray(new HandlerInterceptor[0]);
+        for (MappingRegistration registration : this.mappingRegistry.getRegistrations().values()) {
+            registration.initExecutionChain(interceptors);
+        }
     }
 
     protected void handlerMethodsInitialized(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
@@ -108,6 +193,43 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
         if (null != beanType && isHandler(beanType)) {
             detectHandlerMethods(beanName);
         }
+        if (null != beanType && AnnotatedElementUtils.hasAnnotation(beanType, WebSocketMapping.class)) {
+            registerWebSocketHandler(beanName, beanType);
+        }
+    }
+
+    /**
+     * @param beanName
+     * @param beanType
+     * @return
+     * @apiNote 注册WebSocket端点，bean在握手时再获取
+     * @author wjw
+     * @date 2026/10/18 21:40
+     */
+    protected void registerWebSocketHandler(String beanName, Class<?> beanType) {
+        if (!WebSocketHandler.class.isAssignableFrom(beanType)) {
+            throw new IllegalStateException("@WebSocketMapping bean '" + beanName + "' must implement " + WebSocketHandler.class.getName());
+        }
+        WebSocketMapping mapping = AnnotatedElementUtils.findMergedAnnotation(beanType, WebSocketMapping.class);
+        String existing = this.webSocketLookup.putIfAbsent(mapping.path(), beanName);
+        if (existing != null) {
+            throw new IllegalStateException("Ambiguous WebSocket mapping '" + mapping.path() + "': beans '"
+                    + existing + "' and '" + beanName + "'");
+        }
+    }
+
+    /**
+     * @param request
+     * @return 不是WebSocket端点时返回null
+     * @apiNote 根据升级请求的路径查找WebSocket端点
+     */
+    @Nullable
+    public WebSocketHandler lookupWebSocketHandler(HttpRequest request) throws Exception {
+        if (this.webSocketLookup.isEmpty()) {
+            return null;
+        }
+        String beanName = this.webSocketLookup.get(initLookupPath(request).path());
+        return beanName == null ? null : applicationContext.getBean(beanName, WebSocketHandler.class);
     }
 
     protected void detectHandlerMethods(Object handler) {
@@ -167,6 +289,7 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
         return RequestMappingInfo.builder()
                 .paths(requestMapping.path())
                 .methods(requestMapping.method())
+                .maxContentLength(requestMapping.maxContentLength())
                 .build();
     }
 
@@ -176,97 +299,286 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
     }
 
     public HandlerExecutionChain getHandler(FullHttpRequest request) throws Exception {
-        // 获取请求的url
-        String uri = initLookupPath(request);
-        RequestMappingInfo mappingInfo = this.mappingRegistry.getMappingsByDirectPath(uri);
-        if (null == mappingInfo) {
+        RequestPath lookupPath = initLookupPath(request);
+        int[] captures = captureBuffer();
+        PathTrie.Route<PathMappings> route = this.mappingRegistry.match(lookupPath, captures);
+        MappingRegistration registration = getRegistration(route, request);
+        if (null == registration) {
             return null;
         }
-        // 判断请求是否匹配
-        mappingInfo = mappingInfo.getMatchingCondition(request);
-        if (null == mappingInfo) {
-            return null;
+        // 结构相同的路由共用树中的节点，变量名使用匹配到的处理器自己的
+        String[] variableNames = registration.getVariableNames();
+        if (request instanceof ParamWrapperRequest) {
+            // 只复制变量的位置，变量的值在解析参数时才创建；没有变量的路由共用同一个实例
+            ((ParamWrapperRequest) request).setPathVariables(variableNames.length == 0 ? PathVariables.EMPTY :
+                    new PathVariables(lookupPath.getSource(), variableNames, Arrays.copyOf(captures, variableNames.length * 2)));
         }
+        HandlerExecutionChain chain = registration.getExecutionChain();
+        HandlerMethod handler = chain.getHandler();
+        // 单例bean在启动时已经获取，直接使用创建好的处理器链条，只有prototype、懒加载的bean每次请求获取
+        if (handler.getBean() instanceof String) {
+            chain = chain.withHandler(handler.createWithResolvedBean());
+        }
+        return chain;
+    }
 
-        MappingRegistration registration = this.mappingRegistry.getRegistrations().get(mappingInfo);
-        if (null == registration) {
+    /**
+     * @param request
+     * @return
+     * @apiNote 根据请求行查找路由，只用到请求头，所以在请求体接收完之前也可以调用
+     * @author wjw
+     * @date 2026/10/18 14:45
+     */
+    @Nullable
+    public MappingRegistration lookupRegistration(HttpRequest request) throws Exception {
+        return getRegistration(this.mappingRegistry.match(initLookupPath(request), captureBuffer()), request);
+    }
+
+    /**
+     * @param route
+     * @param request
+     * @return 路径不匹配时返回null
+     * @apiNote 按请求方法从路径下的handler中选择，路径匹配但请求方法不支持时抛出异常，由调用方返回405
+     */
+    @Nullable
+    private MappingRegistration getRegistration(@Nullable PathTrie.Route<PathMappings> route, HttpRequest request)
+            throws HttpRequestMethodNotSupportedException {
+        if (null == route) {
             return null;
         }
-        HandlerMethod handler = registration.getHandlerMethod();
-        // 因为bean有可能是字符串，所以需要转换下
-        if (null != handler) {
-            handler = handler.createWithResolvedBean();
+        PathMappings mappings = route.getValue();
+        MappingRegistration registration = mappings.get(RequestMethod.resolve(request.method()));
+        if (null == registration) {
+            String method = request.method().name();
+            throw new HttpRequestMethodNotSupportedException(method, mappings.getAllowedMethods(), mappings.getAllow(),
+                    "Request method '" + method + "' not supported");
         }
-        return getHandlerExecutionChain(handler, request);
+        return registration;
+    }
+
+    /**
+     * @return
+     * @apiNote 当前线程记录路径变量位置的数组，匹配路由时不需要每次创建
+     */
+    private int[] captureBuffer() {
+        int size = this.mappingRegistry.getMaxVariables() * 2;
+        int[] captures = CAPTURES.get();
+        if (captures.length < size) {
+            captures = new int[size];
+            CAPTURES.set(captures);
+        }
+        return captures;
     }
 
     /**
      * @param request
      * @return
-     * @apiNote 获取请求路径（不包含参数）
+     * @apiNote 获取请求路径（不包含参数），不合法的uri不抛出异常，按原样匹配
      * @author wjw
      * @date 2022/6/17 17:11
      */
-    protected String initLookupPath(FullHttpRequest request) throws URISyntaxException {
-        URI uri = new URI(request.uri());
-        return uri.getPath();
-    }
-
-    protected HandlerExecutionChain getHandlerExecutionChain(HandlerMethod handler, FullHttpRequest request) {
-        HandlerExecutionChain chain = new HandlerExecutionChain(handler);
-        // 添加拦截器
-        for (HandlerInterceptor interceptor : this.interceptors) {
-            if (interceptor.match(request)) {
-                chain.addInterceptor(interceptor);
-            }
-        }
-        return chain;
+    protected RequestPath initLookupPath(HttpRequest request) {
+        return ParamWrapperRequest.requestPath(request);
     }
 
     class MappingRegistry {
 
-        private final Map<String, RequestMappingInfo> pathLookup = new HashMap<>();
+        private final PathTrie<PathMappings> pathLookup = new PathTrie<>();
+        /**
+         * 规范化的路由和同一路由下按请求方法注册的handler，PathMappings同时注册在pathLookup中
+         */
+        private final Map<String, PathMappings> mappingsByPath = new HashMap<>();
         private final Map<RequestMappingInfo, MappingRegistration> registry = new HashMap<>();
 
         public Map<RequestMappingInfo, MappingRegistration> getRegistrations() {
             return this.registry;
         }
 
-        public RequestMappingInfo getMappingsByDirectPath(String urlPath) {
-            return this.pathLookup.get(urlPath);
+        @Nullable
+        public PathTrie.Route<PathMappings> match(RequestPath lookupPath, int[] captures) {
+            // 路径不需要解码时直接在uri上匹配
+            return this.pathLookup.match(lookupPath.getSource(), lookupPath.getStart(), lookupPath.getEnd(), captures);
+        }
+
+        public int getMaxVariables() {
+            return this.pathLookup.getMaxVariables();
         }
 
         public void register(RequestMappingInfo mapping, Object handler, Method method) {
             HandlerMethod handlerMethod = createHandlerMethod(handler, method);
+            List<String> variableNames = new ArrayList<>(2);
+            String normalizedPath = PathTrie.normalize(mapping.getPath(), variableNames);
+            PathMappings mappings = this.mappingsByPath.get(normalizedPath);
+            if (mappings == null) {
+                mappings = new PathMappings();
+                this.pathLookup.insert(mapping.getPath(), mappings);
+                this.mappingsByPath.put(normalizedPath, mappings);
+            }
             // 校验映射
-            validateMethodMapping(handlerMethod, mapping);
-            this.pathLookup.put(mapping.getPath(), mapping);
-            this.registry.put(mapping, new MappingRegistration(mapping, handlerMethod, mapping.getPath()));
+            validateMethodMapping(handlerMethod, mapping, mappings);
+            RequestBodyMode bodyMode = resolveBodyMode(handlerMethod);
+            Executor executor = resolveExecutor(handlerMethod);
+            if (executor == null && (bodyMode == RequestBodyMode.STREAM
+                    || StreamingJsonReturnValueHandler.isStreamingReturnType(handlerMethod.getReturnType()))) {
+                // 读取流式请求体、读取Stream返回值的元素会阻塞，不能在IO线程中执行
+                executor = executorRegistry.getBlockingExecutor();
+            }
+            // 流式接收的请求体默认不限制大小，聚合的请求体默认使用全局配置
+            int maxContentLength = mapping.getMaxContentLength();
+            if (maxContentLength < 0 && bodyMode == RequestBodyMode.AGGREGATE) {
+                maxContentLength = properties.getBody().getMaxContentLength();
+            }
+            MappingRegistration registration = new MappingRegistration(mapping, handlerMethod, mapping.getPath(),
+                    variableNames.toArray(new String[0]), executor, bodyMode, maxContentLength);
+            mappings.add(mapping.getMethods(), registration);
+            this.registry.put(mapping, registration);
         }
 
         /**
          * @param handlerMethod
          * @param mapping
+         * @param mappings
          * @return
-         * @apiNote 校验映射，不允许有重复的handler映射
+         * @apiNote 校验映射，同一个路径的同一个请求方法不允许映射到不同的handler
          */
-        private void validateMethodMapping(HandlerMethod handlerMethod, RequestMappingInfo mapping) {
-            MappingRegistration registration = this.registry.get(mapping);
-            HandlerMethod existingHandlerMethod = (registration != null ? registration.getHandlerMethod() : null);
-            if (existingHandlerMethod != null && !existingHandlerMethod.equals(handlerMethod)) {
-                throw new IllegalStateException(
-                        "Ambiguous mapping. Cannot map '" + handlerMethod.getBean() + "' method \n" +
-                                handlerMethod + "\nto " + mapping + ": There is already '" +
-                                existingHandlerMethod.getBean() + "' bean method\n" + existingHandlerMethod + " mapped.");
+        private void validateMethodMapping(HandlerMethod handlerMethod, RequestMappingInfo mapping, PathMappings mappings) {
+            RequestMethod[] methods = mapping.getMethods();
+            int count = Math.max(methods.length, 1);
+            for (int i = 0; i < count; i++) {
+                MappingRegistration registration = methods.length == 0 ? mappings.anyMethod : mappings.registrations.get(methods[i]);
+                HandlerMethod existingHandlerMethod = (registration != null ? registration.getHandlerMethod() : null);
+                if (existingHandlerMethod != null && !existingHandlerMethod.equals(handlerMethod)) {
+                    throw new IllegalStateException(
+                            "Ambiguous mapping. Cannot map '" + handlerMethod.getBean() + "' method \n" +
+                                    handlerMethod + "\nto " + mapping + ": There is already '" +
+                                    existingHandlerMethod.getBean() + "' bean method\n" + existingHandlerMethod + " mapped.");
+                }
             }
         }
     }
 
+    /**
+     * @param handlerMethod
+     * @return 为null时在IO线程中执行
+     * @apiNote 在注册时确定handler的执行线程：@NonBlocking在IO线程中执行，@Blocking在指定的隔离池中执行，
+     * 方法上的注解优先于类上的注解，都没有时使用默认配置
+     * @author wjw
+     * @date 2026/10/18 11:55
+     */
+    @Nullable
+    protected Executor resolveExecutor(HandlerMethod handlerMethod) {
+        AnnotatedElement[] elements = {handlerMethod.getMethod(), handlerMethod.getBeanType()};
+        for (AnnotatedElement element : elements) {
+            if (AnnotatedElementUtils.hasAnnotation(element, NonBlocking.class)) {
+                return null;
+            }
+            Blocking blocking = AnnotatedElementUtils.findMergedAnnotation(element, Blocking.class);
+            if (blocking != null) {
+                return this.executorRegistry.getBulkhead(blocking.value());
+            }
+        }
+        return this.executorRegistry.getDefaultExecutor();
+    }
+
+    /**
+     * @param handlerMethod
+     * @return
+     * @apiNote 在注册时确定请求体的接收方式，有InputStream、ReadableByteChannel、StreamingRequestBody参数
+     * 或者加了@RequestBody的Stream、Iterator参数时流式接收，
+     * 有MultipartFile参数时边收边解码multipart
+     * @author wjw
+     * @date 2026/10/18 14:48
+     */
+    protected RequestBodyMode resolveBodyMode(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            Class<?> paramType = parameter.getParameterType();
+            if (InputStream.class.isAssignableFrom(paramType) || ReadableByteChannel.class == paramType
+                    || RequestResponseBodyMethodProcessor.isStreamingArgument(parameter)) {
+                return RequestBodyMode.STREAM;
+            }
+            if (MultipartFileMethodArgumentResolver.isMultipartArgument(parameter)) {
+                return RequestBodyMode.MULTIPART;
+            }
+        }
+        return RequestBodyMode.AGGREGATE;
+    }
+
+    /**
+     * @param handler
+     * @param method
+     * @return
+     * @apiNote 创建handler，参数解析器和返回值处理器在注册时绑定，请求中直接调用
+     */
     protected HandlerMethod createHandlerMethod(Object handler, Method method) {
+        HandlerMethod handlerMethod;
         if (handler instanceof String) {
-            return new HandlerMethod((String) handler, applicationContext.getAutowireCapableBeanFactory(), method);
+            handlerMethod = new HandlerMethod((String) handler, applicationContext.getAutowireCapableBeanFactory(), method);
+        } else {
+            handlerMethod = new HandlerMethod(handler, method);
+        }
+        return handlerAdapter.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    /**
+     * @author wjw
+     * @description: 同一个路径下按请求方法注册的handler，查找时按枚举下标取值，405响应的Allow在注册时生成
+     * @title: PathMappings
+     * @date 2026/10/18 22:40
+     */
+    public static class PathMappings {
+
+        private final EnumMap<RequestMethod, MappingRegistration> registrations = new EnumMap<>(RequestMethod.class);
+
+        /**
+         * 没有限定请求方法的handler，没有按方法注册的handler时使用
+         */
+        @Nullable
+        private MappingRegistration anyMethod;
+
+        private String[] allowedMethods = new String[0];
+
+        private String allow = "";
+
+        void add(RequestMethod[] methods, MappingRegistration registration) {
+            if (methods.length == 0) {
+                this.anyMethod = registration;
+            }
+            for (RequestMethod method : methods) {
+                this.registrations.put(method, registration);
+            }
+            // HEAD可以由GET的handler处理，响应体由HttpServerCodec去掉
+            Set<RequestMethod> allowed = EnumSet.noneOf(RequestMethod.class);
+            allowed.addAll(this.registrations.keySet());
+            if (allowed.contains(RequestMethod.GET)) {
+                allowed.add(RequestMethod.HEAD);
+            }
+            this.allowedMethods = allowed.stream().map(Enum::name).toArray(String[]::new);
+            this.allow = String.join(", ", this.allowedMethods);
+        }
+
+        /**
+         * @param method 不是标准的请求方法时为null
+         * @return 请求方法不支持时返回null
+         */
+        @Nullable
+        public MappingRegistration get(@Nullable RequestMethod method) {
+            MappingRegistration registration = method == null ? null : this.registrations.get(method);
+            if (registration == null && method == RequestMethod.HEAD) {
+                registration = this.registrations.get(RequestMethod.GET);
+            }
+            return registration != null ? registration : this.anyMethod;
+        }
+
+        public String[] getAllowedMethods() {
+            return allowedMethods;
+        }
+
+        /**
+         * @return 405响应的Allow头
+         */
+        public String getAllow() {
+            return allow;
         }
-        return new HandlerMethod(handler, method);
     }
 
     /**
@@ -275,17 +587,59 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
      * @title: MappingRegistration
      * @date 2022/6/14 10:10
      */
-    static class MappingRegistration {
+    public static class MappingRegistration {
         private final RequestMappingInfo mapping;
 
-        private final HandlerMethod handlerMethod;
+        /**
+         * 单例bean在所有单例创建完成后替换为已经获取bean的handler
+         */
+        private HandlerMethod handlerMethod;
 
         private final String directPath;
 
-        public MappingRegistration(RequestMappingInfo mapping, HandlerMethod handlerMethod, String directPath) {
+        /**
+         * 按在路由中出现的顺序排列，和PathTrie.match记录的位置一一对应
+         */
+        private final String[] variableNames;
+
+        @Nullable
+        private final Executor executor;
+
+        private final RequestBodyMode bodyMode;
+
+        /**
+         * 请求体的最大字节数，小于0表示不限制
+         */
+        private final int maxContentLength;
+
+        /**
+         * 所有请求共用的处理器链条，替换handler或者添加拦截器时重新创建
+         */
+        private volatile HandlerExecutionChain executionChain;
+
+        public MappingRegistration(RequestMappingInfo mapping, HandlerMethod handlerMethod, String directPath,
+                                   String[] variableNames, @Nullable Executor executor, RequestBodyMode bodyMode,
+                                   int maxContentLength) {
             this.mapping = mapping;
             this.handlerMethod = handlerMethod;
             this.directPath = directPath;
+            this.variableNames = variableNames;
+            this.executor = executor;
+            this.bodyMode = bodyMode;
+            this.maxContentLength = maxContentLength;
+            this.executionChain = new HandlerExecutionChain(handlerMethod, executor);
+        }
+
+        /**
+         * @param interceptors 所有路由共用，不能再修改
+         * @apiNote 使用当前的handler和拦截器创建处理器链条
+         */
+        void initExecutionChain(HandlerInterceptor[] interceptors) {
+            this.executionChain = new HandlerExecutionChain(this.handlerMethod, this.executor, interceptors);
+        }
+
+        public HandlerExecutionChain getExecutionChain() {
+            return executionChain;
         }
 
         public RequestMappingInfo getMapping() {
@@ -299,5 +653,22 @@ public class RequestMappingHandlerMapping implements ApplicationContextAware, In
         public String getDirectPath() {
             return directPath;
         }
+
+        public String[] getVariableNames() {
+            return variableNames;
+        }
+
+        @Nullable
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        public RequestBodyMode getBodyMode() {
+            return bodyMode;
+        }
+
+        public int getMaxContentLength() {
+            return maxContentLength;
+        }
     }
 }
@@ -1,6 +1,8 @@
 package com.javaedit.terabithia.method.annotation;
 
 import com.javaedit.terabithia.annotation.RequestMapping;
+import io.netty.handler.codec.http.HttpMethod;
+import org.springframework.lang.Nullable;
 
 /**
  * Java 5 enumeration of HTTP request methods. Intended for use with the
@@ -20,6 +22,50 @@ import com.javaedit.terabithia.annotation.RequestMapping;
  */
 public enum RequestMethod {
 
-    GET, HEAD, POST, PUT, PATCH, DELETE, OPTIONS, TRACE
+    GET, HEAD, POST, PUT, PATCH, DELETE, OPTIONS, TRACE;
 
+    private static final RequestMethod[] VALUES = values();
+
+    /**
+     * Resolve the given Netty method to a {@code RequestMethod}. The decoder returns
+     * the shared {@link HttpMethod} constants for standard methods, so they are
+     * compared by identity without looking at the name.
+     *
+     * @param method the HTTP method of the request
+     * @return the corresponding {@code RequestMethod}, or {@code null} if not found
+     */
+    @Nullable
+    public static RequestMethod resolve(HttpMethod method) {
+        if (method == HttpMethod.GET) {
+            return GET;
+        }
+        if (method == HttpMethod.POST) {
+            return POST;
+        }
+        if (method == HttpMethod.PUT) {
+            return PUT;
+        }
+        if (method == HttpMethod.DELETE) {
+            return DELETE;
+        }
+        if (method == HttpMethod.HEAD) {
+            return HEAD;
+        }
+        if (method == HttpMethod.PATCH) {
+            return PATCH;
+        }
+        if (method == HttpMethod.OPTIONS) {
+            return OPTIONS;
+        }
+        if (method == HttpMethod.TRACE) {
+            return TRACE;
+        }
+        // methods created by hand instead of HttpMethod.valueOf
+        for (RequestMethod candidate : VALUES) {
+            if (candidate.name().equals(method.name())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.javaedit.terabithia.method.support;
+
+import com.javaedit.terabithia.config.InvocationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * @author wjw
+ * @description: 调用handler方法，注册路由时按配置的方式创建，每个方法一个
+ * @title: HandlerMethodInvoker
+ * @date 2026/10/19 00:02
+ */
+public interface HandlerMethodInvoker {
+
+    /**
+     * @param bean
+     * @param args
+     * @return 方法返回void时为null
+     * @apiNote 调用方法，handler抛出的异常可能包装在InvocationTargetException中，由InvocableHandlerMethod统一解开
+     * @author wjw
+     * @date 2026/10/19 00:02
+     */
+    Object invoke(Object bean, Object[] args) throws Exception;
+
+    /**
+     * @param method
+     * @param strategy
+     * @return
+     * @apiNote 创建方法的调用器，METHOD_HANDLE无法访问方法时退回反射
+     * @author wjw
+     * @date 2026/10/19 00:05
+     */
+    static HandlerMethodInvoker create(Method method, InvocationStrategy strategy) {
+        ReflectionUtils.makeAccessible(method);
+        if (strategy == InvocationStrategy.METHOD_HANDLE) {
+            try {
+                return new MethodHandleInvoker(method);
+            } catch (IllegalAccessException | RuntimeException e) {
+                MethodHandleInvoker.log.debug("Cannot create MethodHandle for {}, falling back to reflection", method, e);
+            }
+        }
+        return new ReflectiveInvoker(method);
+    }
+
+    /**
+     * 通过Method.invoke调用
+     */
+    final class ReflectiveInvoker implements HandlerMethodInvoker {
+
+        private final Method method;
+
+        ReflectiveInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object invoke(Object bean, Object[] args) throws Exception {
+            return this.method.invoke(bean, args);
+        }
+    }
+
+    /**
+     * 通过MethodHandle调用，方法句柄统一适配为(Object, Object[])Object，调用时用invokeExact，
+     * 不做访问检查，handler抛出的Exception直接抛出。实验性质，句柄不是常量，JIT不能内联，开销和反射相当
+     */
+    @Slf4j
+    final class MethodHandleInvoker implements HandlerMethodInvoker {
+
+        private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+        private final MethodHandle handle;
+
+        MethodHandleInvoker(Method method) throws IllegalAccessException {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // 静态方法忽略bean，和Method.invoke一致
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            // 把参数数组展开为方法的参数，返回值装箱，void返回null
+            this.handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        }
+
+        @Override
+        public Object invoke(Object bean, Object[] args) throws Exception {
+            try {
+                return (Object) this.handle.invokeExact(bean, args);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                // Error和反射一样包装为InvocationTargetException，由调用方按异常处理，返回500
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.javaedit.terabithia.handler.web.ResourceResponseFactory;
+import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.core.MethodParameter;
+
+import java.io.File;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+
+/**
+ * @author wjw
+ * @description: 返回值处理器-处理File和Path类型，以下载的方式返回文件内容
+ * @title: FileMethodReturnValueHandler
+ * @date 2026/10/18 16:55
+ */
+public class FileMethodReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final ResourceResponseFactory responseFactory;
+
+    public FileMethodReturnValueHandler(ResourceResponseFactory responseFactory) {
+        this.responseFactory = responseFactory;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        Class<?> paramType = returnType.getParameterType();
+        return File.class.isAssignableFrom(paramType) || Path.class.isAssignableFrom(paramType);
+    }
+
+    @Override
+    public FullHttpResponse handleReturnValue(Object returnValue, MethodParameter returnType, FullHttpRequest webRequest) throws Exception {
+        if (returnValue == null) {
+            return responseFactory.emptyResponse(HttpResponseStatus.NOT_FOUND);
+        }
+        Path file = returnValue instanceof File ? ((File) returnValue).toPath() : (Path) returnValue;
+        FullHttpResponse response = responseFactory.create(webRequest, file);
+        if (response.status().code() < 300) {
+            String filename = URLEncoder.encode(file.getFileName().toString(), "UTF-8").replace("+", "%20");
+            response.headers().set(HttpHeaderNames.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + filename);
+        }
+        return response;
+    }
+}
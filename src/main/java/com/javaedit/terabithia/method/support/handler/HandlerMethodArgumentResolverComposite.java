@@ -117,7 +117,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
      * the given method parameter.
      */
     @Nullable
-    private HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
+    public HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
         HandlerMethodArgumentResolver result = this.argumentResolverCache.get(parameter);
         if (result == null) {
             for (HandlerMethodArgumentResolver resolver : this.argumentResolvers) {
@@ -29,8 +29,12 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
         return getReturnValueHandler(returnType) != null;
     }
 
+    /**
+     * Find a registered {@link HandlerMethodReturnValueHandler} that supports
+     * the given return type.
+     */
     @Nullable
-    private HandlerMethodReturnValueHandler getReturnValueHandler(MethodParameter returnType) {
+    public HandlerMethodReturnValueHandler getReturnValueHandler(MethodParameter returnType) {
         for (HandlerMethodReturnValueHandler handler : this.returnValueHandlers) {
             if (handler.supportsReturnType(returnType)) {
                 return handler;
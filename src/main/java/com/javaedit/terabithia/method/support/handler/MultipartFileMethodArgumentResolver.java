@@ -0,0 +1,66 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.web.MultipartFile;
+import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
+import io.netty.handler.codec.http.FullHttpRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author wjw
+ * @description: 上传文件参数处理器，支持MultipartFile、MultipartFile[]和List<MultipartFile>，按参数名匹配表单字段
+ * @title: MultipartFileMethodArgumentResolver
+ * @date 2026/10/18 15:45
+ */
+public class MultipartFileMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return isMultipartArgument(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, FullHttpRequest webRequest) throws Exception {
+        ParamWrapperRequest paramWrapperRequest = webRequest instanceof ParamWrapperRequest ? (ParamWrapperRequest) webRequest : new ParamWrapperRequest(webRequest);
+        String name = parameter.getParameterName();
+        if (name == null) {
+            throw new IllegalArgumentException(
+                    "Name for argument of type [" + parameter.getNestedParameterType().getName() +
+                            "] not specified, and parameter name information not found in class file either.");
+        }
+        List<MultipartFile> files = paramWrapperRequest.getMultipartFiles(name);
+
+        Class<?> paramType = parameter.getParameterType();
+        if (MultipartFile.class == paramType) {
+            return files.isEmpty() ? null : files.get(0);
+        }
+        if (paramType.isArray()) {
+            return files.toArray(new MultipartFile[0]);
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * @param parameter
+     * @return
+     * @apiNote 判断参数是否是上传文件，注册路由时也用来确定请求体的接收方式
+     * @author wjw
+     * @date 2026/10/18 15:47
+     */
+    public static boolean isMultipartArgument(MethodParameter parameter) {
+        Class<?> paramType = parameter.getParameterType();
+        if (MultipartFile.class == paramType || MultipartFile[].class == paramType) {
+            return true;
+        }
+        if (Collection.class.isAssignableFrom(paramType) && paramType.isAssignableFrom(List.class)) {
+            Class<?> elementType = ResolvableType.forMethodParameter(parameter).asCollection().resolveGeneric();
+            return MultipartFile.class == elementType;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.javaedit.terabithia.annotation.PathVariable;
+import com.javaedit.terabithia.exception.ServletException;
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.method.PathVariables;
+import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
+import io.netty.handler.codec.http.FullHttpRequest;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.DataBinder;
+
+/**
+ * @author wjw
+ * @description: 参数处理器-处理@PathVariable，从路由匹配出的路径变量中取值并转换类型，支持基本数据类型
+ * @title: PathVariableMethodArgumentResolver
+ * @date 2026/10/18 22:25
+ */
+public class PathVariableMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(PathVariable.class)
+                && BeanUtils.isSimpleProperty(parameter.getNestedParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, FullHttpRequest webRequest) throws Exception {
+        PathVariable annotation = parameter.getParameterAnnotation(PathVariable.class);
+        // 注解没有经过合成，@AliasFor不生效，需要分别判断name和value
+        String name = !annotation.name().isEmpty() ? annotation.name() :
+                !annotation.value().isEmpty() ? annotation.value() : parameter.getParameterName();
+        PathVariables variables = webRequest instanceof ParamWrapperRequest ?
+                ((ParamWrapperRequest) webRequest).getPathVariables() : null;
+        String value = variables == null ? null : variables.get(name);
+        if (value == null) {
+            if (annotation.required()) {
+                throw new ServletException("Missing path variable '" + name + "' for method parameter of type "
+                        + parameter.getNestedParameterType().getSimpleName());
+            }
+            return null;
+        }
+        DataBinder binder = new DataBinder(null, name);
+        return binder.convertIfNecessary(value, parameter.getParameterType(), parameter);
+    }
+}
@@ -0,0 +1,42 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.netty.StreamingRequestBody;
+import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.FullHttpRequest;
+import org.springframework.core.MethodParameter;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * @author wjw
+ * @description: 请求体流参数处理器，支持InputStream、ReadableByteChannel和StreamingRequestBody
+ * @title: RequestBodyStreamMethodArgumentResolver
+ * @date 2026/10/18 15:05
+ */
+public class RequestBodyStreamMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> paramType = parameter.getParameterType();
+        return InputStream.class.isAssignableFrom(paramType) || ReadableByteChannel.class == paramType;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, FullHttpRequest webRequest) throws Exception {
+        Class<?> paramType = parameter.getParameterType();
+        StreamingRequestBody body = webRequest instanceof ParamWrapperRequest ? ((ParamWrapperRequest) webRequest).getBody() : null;
+        if (body != null) {
+            return ReadableByteChannel.class == paramType ? body.getChannel() : body;
+        }
+        if (StreamingRequestBody.class == paramType) {
+            throw new IllegalStateException("Request body of " + webRequest.uri() + " is not streamed");
+        }
+        // 请求体已经聚合，直接读取content
+        InputStream in = new ByteBufInputStream(webRequest.content());
+        return ReadableByteChannel.class == paramType ? Channels.newChannel(in) : in;
+    }
+}
@@ -1,23 +1,155 @@
 package com.javaedit.terabithia.method.support.handler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.javaedit.terabithia.annotation.RequestBody;
 import com.javaedit.terabithia.annotation.ResponseBody;
+import com.javaedit.terabithia.exception.HttpMessageNotReadableException;
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.netty.StreamingRequestBody;
+import com.javaedit.terabithia.method.support.HandlerMethodArgumentResolver;
 import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
 import com.javaedit.terabithia.utils.JackSonUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author wjw
- * @description: 返回值处理器-处理@ResponseBody注解
+ * @description: 参数处理器-处理@RequestBody注解，返回值处理器-处理@ResponseBody注解
  * @title: RequestResponseBodyMethodProcessor
  * @date 2022/6/14 18:17
  */
 @Slf4j
-public class RequestResponseBodyMethodProcessor implements HandlerMethodReturnValueHandler {
+public class RequestResponseBodyMethodProcessor implements HandlerMethodArgumentResolver, HandlerMethodReturnValueHandler {
+
+    /**
+     * 每种参数类型的ObjectReader，key是带泛型的参数类型
+     */
+    private final Map<Type, ObjectReader> readerCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 每种返回值类型的ObjectWriter，key是带泛型的声明类型或者返回值的实际类型
+     */
+    private final Map<Type, ObjectWriter> writerCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * @apiNote 判断参数上有@RequestBody注解
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(RequestBody.class);
+    }
+
+    /**
+     * @param parameter
+     * @return
+     * @apiNote 是否是@RequestBody Stream&lt;T&gt;或Iterator&lt;T&gt;参数，这种参数的请求体流式接收，
+     * json数组的元素边收边解析
+     * @author wjw
+     * @date 2026/10/18 19:30
+     */
+    public static boolean isStreamingArgument(MethodParameter parameter) {
+        Class<?> paramType = parameter.getParameterType();
+        return (Stream.class == paramType || Iterator.class == paramType) && parameter.hasParameterAnnotation(RequestBody.class);
+    }
+
+    /**
+     * @apiNote 直接从请求的ByteBuf中解析json，有底层数组时直接读数组，不生成中间的String
+     */
+    @Override
+    public Object resolveArgument(MethodParameter parameter, FullHttpRequest webRequest) throws Exception {
+        if (isStreamingArgument(parameter)) {
+            return resolveStreamingArgument(parameter, webRequest);
+        }
+        ByteBuf content = webRequest.content();
+        if (!content.isReadable()) {
+            RequestBody requestBody = parameter.getParameterAnnotation(RequestBody.class);
+            if (requestBody != null && requestBody.required()) {
+                throw new HttpMessageNotReadableException("Required request body is missing: " +
+                        parameter.getExecutable().toGenericString());
+            }
+            return null;
+        }
+        // 字符串参数直接使用请求体原文
+        if (String.class == parameter.getParameterType()) {
+            return content.toString(StandardCharsets.UTF_8);
+        }
+        ObjectReader reader = getObjectReader(parameter.getNestedGenericParameterType());
+        try {
+            if (content.hasArray()) {
+                return reader.readValue(content.array(), content.arrayOffset() + content.readerIndex(), content.readableBytes());
+            }
+            return reader.readValue((InputStream) new ByteBufInputStream(content));
+        } catch (IOException e) {
+            throw notReadable(e);
+        }
+    }
+
+    /**
+     * @param parameter
+     * @param webRequest
+     * @return
+     * @apiNote 在业务线程中从流式请求体逐个读取json数组的元素（也支持换行分隔的多个json），
+     * 同一时间只有一个元素在内存中，请求体的缓冲由StreamingRequestBody的流控限制
+     * @author wjw
+     * @date 2026/10/18 19:35
+     */
+    private Object resolveStreamingArgument(MethodParameter parameter, FullHttpRequest webRequest) {
+        Type paramType = parameter.getGenericParameterType();
+        Type elementType = paramType instanceof ParameterizedType ? ((ParameterizedType) paramType).getActualTypeArguments()[0] : Object.class;
+        StreamingRequestBody body = webRequest instanceof ParamWrapperRequest ? ((ParamWrapperRequest) webRequest).getBody() : null;
+        // 请求体没有流式接收时读取已经聚合的content
+        InputStream in = body != null ? body : new ByteBufInputStream(webRequest.content());
+        JsonValueIterator<Object> iterator;
+        try {
+            iterator = new JsonValueIterator<>(getObjectReader(elementType).readValues(in));
+        } catch (IOException e) {
+            throw notReadable(e);
+        }
+        if (Iterator.class == parameter.getParameterType()) {
+            return iterator;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private ObjectReader getObjectReader(Type type) {
+        ObjectReader reader = this.readerCache.get(type);
+        if (reader == null) {
+            reader = this.readerCache.computeIfAbsent(type, JackSonUtil::readerFor);
+        }
+        return reader;
+    }
+
+    private static HttpMessageNotReadableException notReadable(IOException e) {
+        if (e instanceof JsonProcessingException) {
+            return new HttpMessageNotReadableException("JSON parse error: " + ((JsonProcessingException) e).getOriginalMessage(), e);
+        }
+        return new HttpMessageNotReadableException("I/O error while reading request body: " + e.getMessage(), e);
+    }
 
     /**
      * @apiNote 判断类或者方法上有@ResponseBody注解
@@ -28,23 +160,105 @@ public class RequestResponseBodyMethodProcessor implements HandlerMethodReturnVa
                 returnType.hasMethodAnnotation(ResponseBody.class));
     }
 
+    /**
+     * @apiNote json直接序列化到池化的堆外内存中，字符串直接按UTF-8编码写入，不经过String和byte[]
+     */
     @Override
     public FullHttpResponse handleReturnValue(Object value, MethodParameter returnType, FullHttpRequest request) throws Exception {
-        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        String content = null;
-
+        ByteBuf content;
         if (value instanceof CharSequence) {
-            content = value.toString();
+            CharSequence text = (CharSequence) value;
+            content = ParamWrapperRequest.alloc(request).directBuffer(ByteBufUtil.utf8Bytes(text));
+            ByteBufUtil.writeUtf8(content, text);
         } else if (null != value) {
-            content = JackSonUtil.toJsonString(value);
+            content = ParamWrapperRequest.alloc(request).directBuffer();
+            try {
+                getObjectWriter(value, returnType).writeValue((OutputStream) new ByteBufOutputStream(content), value);
+            } catch (Exception e) {
+                content.release();
+                throw e;
+            }
         } else {
-            content = "";
+            content = ParamWrapperRequest.alloc(request).directBuffer(0);
         }
-        response.content().writeBytes(content.getBytes(StandardCharsets.UTF_8));
-        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
         response.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json;charset=UTF-8");
 
         return response;
     }
 
+    /**
+     * @param value
+     * @param returnType
+     * @return
+     * @apiNote 获取缓存的ObjectWriter，每种类型只创建一次
+     * @author wjw
+     * @date 2026/10/18 19:05
+     */
+    private ObjectWriter getObjectWriter(Object value, MethodParameter returnType) {
+        Type type = getSerializationType(value, returnType);
+        ObjectWriter writer = this.writerCache.get(type);
+        if (writer == null) {
+            writer = this.writerCache.computeIfAbsent(type, JackSonUtil::writerFor);
+        }
+        return writer;
+    }
+
+    /**
+     * @param value
+     * @param returnType
+     * @return
+     * @apiNote 方法声明了List&lt;User&gt;这类带泛型的返回类型时使用声明的类型，元素类型在创建ObjectWriter时就能确定；
+     * 其他情况使用返回值的实际类型，声明为父类或Object时不会丢失子类的属性
+     */
+    private Type getSerializationType(Object value, MethodParameter returnType) {
+        Type declaredType = returnType.getGenericParameterType();
+        if (declaredType instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) declaredType).getRawType();
+            if (rawType instanceof Class && ((Class<?>) rawType).isInstance(value)) {
+                return declaredType;
+            }
+        }
+        return value.getClass();
+    }
+
+    /**
+     * 逐个读取json值，把jackson的异常转换为HttpMessageNotReadableException，handler不需要处理受检异常
+     */
+    private static class JsonValueIterator<T> implements Iterator<T>, Closeable {
+
+        private final MappingIterator<T> delegate;
+
+        JsonValueIterator(MappingIterator<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return this.delegate.hasNextValue();
+            } catch (IOException e) {
+                throw notReadable(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            try {
+                return this.delegate.nextValue();
+            } catch (IOException e) {
+                throw notReadable(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.delegate.close();
+            } catch (IOException e) {
+                log.debug("Failed to close json parser", e);
+            }
+        }
+    }
 }
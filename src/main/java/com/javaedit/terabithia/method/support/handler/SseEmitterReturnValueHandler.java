@@ -0,0 +1,45 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.javaedit.terabithia.config.TerabithiaProperties;
+import com.javaedit.terabithia.handler.netty.SseBodyWriter;
+import com.javaedit.terabithia.handler.netty.StreamingHttpResponse;
+import com.javaedit.terabithia.handler.web.SseEmitter;
+import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
+import io.netty.handler.codec.http.*;
+import org.springframework.core.MethodParameter;
+
+/**
+ * @author wjw
+ * @description: 返回值处理器-处理SseEmitter，写出text/event-stream响应头后保持连接，事件由SseEmitter推送
+ * @title: SseEmitterReturnValueHandler
+ * @date 2026/10/18 21:00
+ */
+public class SseEmitterReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final TerabithiaProperties.Sse config;
+
+    public SseEmitterReturnValueHandler(TerabithiaProperties.Sse config) {
+        this.config = config;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return SseEmitter.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public FullHttpResponse handleReturnValue(Object returnValue, MethodParameter returnType, FullHttpRequest webRequest) throws Exception {
+        SseEmitter emitter = (SseEmitter) returnValue;
+        if (emitter == null) {
+            // 没有事件，直接结束
+            emitter = new SseEmitter();
+            emitter.complete();
+        }
+        FullHttpResponse response = new StreamingHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                new SseBodyWriter(emitter, config));
+        HttpUtil.setTransferEncodingChunked(response, true);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/event-stream;charset=UTF-8");
+        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+        return response;
+    }
+}
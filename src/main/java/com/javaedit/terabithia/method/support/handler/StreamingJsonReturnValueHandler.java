@@ -0,0 +1,104 @@
+package com.javaedit.terabithia.method.support.handler;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.javaedit.terabithia.annotation.ResponseBody;
+import com.javaedit.terabithia.handler.netty.JsonStreamBodyWriter;
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.handler.netty.StreamingHttpResponse;
+import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
+import com.javaedit.terabithia.utils.JackSonUtil;
+import io.netty.handler.codec.http.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * @author wjw
+ * @description: 返回值处理器-处理@ResponseBody的Stream和Iterator返回值，逐个序列化元素，以chunked的方式写出，
+ * 默认写出json数组，Accept为application/x-ndjson时每行一个json
+ * @title: StreamingJsonReturnValueHandler
+ * @date 2026/10/18 20:00
+ */
+public class StreamingJsonReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final String STREAM_JSON = "application/stream+json";
+
+    /**
+     * 每种元素类型的ObjectWriter
+     */
+    private final Map<Class<?>, ObjectWriter> writerCache = new ConcurrentHashMap<>(64);
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return isStreamingReturnType(returnType);
+    }
+
+    /**
+     * @param returnType
+     * @return
+     * @apiNote 是否是@ResponseBody的Stream或Iterator返回值，这种返回值的元素在执行handler的线程中读取，
+     * 注册时据此把handler放到业务线程池中执行
+     * @author wjw
+     * @date 2026/10/19 16:30
+     */
+    public static boolean isStreamingReturnType(MethodParameter returnType) {
+        Class<?> paramType = returnType.getParameterType();
+        return (Stream.class.isAssignableFrom(paramType) || Iterator.class.isAssignableFrom(paramType)) &&
+                (AnnotatedElementUtils.hasAnnotation(returnType.getContainingClass(), ResponseBody.class) ||
+                        returnType.hasMethodAnnotation(ResponseBody.class));
+    }
+
+    /**
+     * @apiNote 元素在执行handler的线程中读取，Stream或者实现了AutoCloseable的Iterator在读取完毕、失败或者连接断开时
+     * 在同一个线程中关闭，见JsonStreamBodyWriter.produce
+     */
+    @Override
+    public FullHttpResponse handleReturnValue(Object returnValue, MethodParameter returnType, FullHttpRequest webRequest) throws Exception {
+        Iterator<?> iterator;
+        AutoCloseable resource = null;
+        if (returnValue instanceof Stream) {
+            Stream<?> stream = (Stream<?>) returnValue;
+            iterator = stream.iterator();
+            resource = stream;
+        } else if (returnValue != null) {
+            iterator = (Iterator<?>) returnValue;
+            if (returnValue instanceof AutoCloseable) {
+                resource = (AutoCloseable) returnValue;
+            }
+        } else {
+            iterator = Collections.emptyIterator();
+        }
+        boolean ndjson = acceptsNdjson(webRequest);
+        FullHttpResponse response = new StreamingHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                new JsonStreamBodyWriter(iterator, ndjson, this::getObjectWriter, resource, ParamWrapperRequest.alloc(webRequest)));
+        HttpUtil.setTransferEncodingChunked(response, true);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, ndjson ? NDJSON + ";charset=UTF-8" : "application/json;charset=UTF-8");
+        return response;
+    }
+
+    private boolean acceptsNdjson(FullHttpRequest request) {
+        String accept = request.headers().get(HttpHeaderNames.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        accept = accept.toLowerCase(Locale.ROOT);
+        return accept.contains(NDJSON) || accept.contains(STREAM_JSON);
+    }
+
+    private ObjectWriter getObjectWriter(Object element) {
+        Class<?> elementType = element.getClass();
+        ObjectWriter writer = this.writerCache.get(elementType);
+        if (writer == null) {
+            writer = this.writerCache.computeIfAbsent(elementType, JackSonUtil::writerFor);
+        }
+        return writer;
+    }
+}
@@ -1,11 +1,12 @@
 package com.javaedit.terabithia.method.support.handler;
 
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
 import com.javaedit.terabithia.method.support.HandlerMethodReturnValueHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.*;
 import org.springframework.core.MethodParameter;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * @author wjw
  * @description: 返回值处理器-处理void和字符串类型
@@ -22,9 +23,9 @@ public class ViewNameMethodReturnValueHandler implements HandlerMethodReturnValu
 
     @Override
     public FullHttpResponse handleReturnValue(Object returnValue, MethodParameter returnType, FullHttpRequest webRequest) throws Exception {
-        String content = null;
+        CharSequence content = null;
         if (returnValue instanceof CharSequence) {
-            content = returnValue.toString();
+            content = (CharSequence) returnValue;
         } else if (returnValue != null) {
             // should not happen
             throw new UnsupportedOperationException("Unexpected return type: " +
@@ -32,9 +33,11 @@ public class ViewNameMethodReturnValueHandler implements HandlerMethodReturnValu
         } else {
             content = "";
         }
-        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        response.content().writeBytes(content.getBytes(StandardCharsets.UTF_8));
-        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        // 直接按UTF-8编码写入池化的堆外内存
+        ByteBuf buf = ParamWrapperRequest.alloc(webRequest).directBuffer(ByteBufUtil.utf8Bytes(content));
+        ByteBufUtil.writeUtf8(buf, content);
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, buf);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, buf.readableBytes());
         response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/html;charset=UTF-8");
         return response;
     }
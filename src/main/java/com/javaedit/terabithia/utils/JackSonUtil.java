@@ -1,13 +1,20 @@
 package com.javaedit.terabithia.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.javaedit.terabithia.exception.JsonConvertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -32,15 +39,58 @@ public class JackSonUtil {
     private JackSonUtil() {
     }
 
+    /**
+     * @param module
+     * @apiNote 注册模块，需要在序列化之前调用，已经创建的ObjectWriter不会使用新注册的模块
+     * @author wjw
+     * @date 2026/10/18 18:58
+     */
+    public static void registerModule(Module module) {
+        MAPPER.registerModule(module);
+    }
+
+    /**
+     * @param type
+     * @return
+     * @apiNote 创建指定类型的ObjectWriter，创建时就查找好根序列化器，调用方应该缓存返回值重复使用
+     * @author wjw
+     * @date 2026/10/18 19:00
+     */
+    public static ObjectWriter writerFor(Type type) {
+        return MAPPER.writerFor(MAPPER.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * @param type
+     * @return
+     * @apiNote 创建指定类型的ObjectReader，调用方应该缓存返回值重复使用
+     * @author wjw
+     * @date 2026/10/18 19:20
+     */
+    public static ObjectReader readerFor(Type type) {
+        return MAPPER.readerFor(MAPPER.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * @param out
+     * @return
+     * @apiNote 创建以UTF-8写入输出流的JsonGenerator，用于逐个写出多个值
+     * @author wjw
+     * @date 2026/10/18 19:55
+     */
+    public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return MAPPER.createGenerator(out);
+    }
+
     public static String toJsonString(Object object) {
         if (object == null) {
-            throw new RuntimeException("object is null, unable to convert");
+            throw new JsonConvertException("object is null, unable to convert");
         }
 
         try {
             return MAPPER.writeValueAsString(object);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("JSON transformation error");
+            throw new JsonConvertException("JSON transformation error", e);
         }
     }
 
@@ -51,9 +101,9 @@ public class JackSonUtil {
             return MAPPER.readValue(json, cla);
         } catch (IOException e) {
             if ("".equals(exceptionContent) || exceptionContent == null) {
-                throw new RuntimeException("json string cannot be converted to object");
+                throw new JsonConvertException("json string cannot be converted to object", e);
             }
-            throw new RuntimeException(exceptionContent);
+            throw new JsonConvertException(exceptionContent, e);
         }
     }
 
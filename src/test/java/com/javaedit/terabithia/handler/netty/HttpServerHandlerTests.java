@@ -0,0 +1,271 @@
+package com.javaedit.terabithia.handler.netty;
+
+import com.javaedit.terabithia.config.HttpServer;
+import com.javaedit.terabithia.handler.web.HandlerInterceptor;
+import com.javaedit.terabithia.method.HandlerMethod;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.ApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: 通过socket发送pipelining的请求，检查响应的状态码和顺序
+ * @title: HttpServerHandlerTests
+ * @date 2026/10/19 11:20
+ */
+// 只有一个IO线程，所有连接在同一个IO线程上
+@SpringBootTest(properties = {"terabithia.port=" + HttpServerHandlerTests.PORT, "terabithia.worker-threads=1"})
+class HttpServerHandlerTests {
+
+    static final int PORT = 18080;
+
+    private static final Pattern STATUS_LINE = Pattern.compile("HTTP/1\\.1 (\\d{3}) ");
+
+    private static volatile boolean started;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private FormCapturingInterceptor formInterceptor;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        synchronized (HttpServerHandlerTests.class) {
+            if (started) {
+                return;
+            }
+            Thread thread = new Thread(() -> new HttpServer(context).start(), "test-http-server");
+            thread.setDaemon(true);
+            thread.start();
+            for (int i = 0; i < 100; i++) {
+                try (Socket ignored = new Socket("127.0.0.1", PORT)) {
+                    started = true;
+                    return;
+                } catch (ConnectException e) {
+                    Thread.sleep(100);
+                }
+            }
+            fail("server did not start");
+        }
+    }
+
+    @Test
+    void pipelinedResponsesKeepRequestOrder() throws IOException {
+        // 第一个请求最后完成，后面的响应暂存到它写出之后
+        String response = send("GET /hello/testAsync?delay=300 HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "GET /hello/testJson HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "GET /hello/orders/42 HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+
+        assertEquals(Arrays.asList("200", "200", "200"), statusCodes(response));
+        int async = response.indexOf("\"elapsed\"");
+        int json = response.indexOf("{}");
+        int order = response.indexOf("{\"orderId\":42}");
+        assertTrue(async >= 0 && async < json && json < order, response);
+    }
+
+    @Test
+    void oversizedRequestIsRejectedAfterEarlierResponses() throws IOException {
+        // 第二个请求的Content-Length超过terabithia.body.max-content-length，413要等第一个响应写出后再写出，然后关闭连接
+        String response = send("GET /hello/testAsync?delay=300 HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "POST /hello/testPost HTTP/1.1\r\nHost: x\r\nContent-Length: 1000000\r\n\r\n");
+
+        assertEquals(Arrays.asList("200", "413"), statusCodes(response));
+        assertTrue(response.indexOf("\"elapsed\"") < response.indexOf("HTTP/1.1 413"), response);
+    }
+
+    @Test
+    void oversizedChunkedRequestIsRejectedAfterEarlierResponses() throws IOException {
+        // 没有Content-Length，聚合时才发现超过限制
+        StringBuilder requests = new StringBuilder("GET /hello/testAsync?delay=300 HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "POST /hello/testPost HTTP/1.1\r\nHost: x\r\nTransfer-Encoding: chunked\r\n\r\n");
+        char[] chunk = new char[0x4000];
+        Arrays.fill(chunk, 'a');
+        for (int i = 0; i < 5; i++) {
+            requests.append("4000\r\n").append(chunk).append("\r\n");
+        }
+        requests.append("0\r\n\r\n");
+
+        String response = send(requests.toString());
+
+        assertEquals(Arrays.asList("200", "413"), statusCodes(response));
+        assertTrue(response.indexOf("\"elapsed\"") < response.indexOf("HTTP/1.1 413"), response);
+    }
+
+    @Test
+    void requestsBeyondMaxInFlightAreQueuedInOrder() throws IOException {
+        // 超过terabithia.pipelining.max-in-flight（16）的请求排队，第一个响应写出后再分发
+        StringBuilder requests = new StringBuilder("GET /hello/testAsync?delay=300 HTTP/1.1\r\nHost: x\r\n\r\n");
+        for (int i = 1; i < 20; i++) {
+            requests.append("GET /hello/orders/").append(i).append(" HTTP/1.1\r\nHost: x\r\n")
+                    .append(i == 19 ? "Connection: close\r\n" : "").append("\r\n");
+        }
+
+        String response = send(requests.toString());
+
+        assertEquals(Collections.nCopies(20, "200"), statusCodes(response));
+        int previous = response.indexOf("\"elapsed\"");
+        assertTrue(previous >= 0, response);
+        for (int i = 1; i < 20; i++) {
+            int index = response.indexOf("{\"orderId\":" + i + "}");
+            assertTrue(index > previous, response);
+            previous = index;
+        }
+    }
+
+    @Test
+    void slowStreamDoesNotBlockOtherConnectionsOnSameEventLoop() throws Exception {
+        CompletableFuture<String> export = CompletableFuture.supplyAsync(() -> {
+            try {
+                return send("GET /hello/testExport?count=5&delay=200 HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        String response = send("GET /hello/testJson HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(Collections.singletonList("200"), statusCodes(response));
+        assertTrue(elapsedMillis < 500, "blocked for " + elapsedMillis + "ms");
+        assertFalse(export.isDone());
+        String exported = export.get(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList("200"), statusCodes(exported));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(exported.contains("\"id\":" + i), exported);
+        }
+    }
+
+    @Test
+    void methodNotAllowedKeepsPipelinedConnectionOpen() throws IOException {
+        String response = send("POST /hello/orders/42 HTTP/1.1\r\nHost: x\r\nContent-Length: 0\r\n\r\n"
+                + "GET /hello/orders/42 HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+
+        assertEquals(Arrays.asList("405", "200"), statusCodes(response));
+        assertTrue(response.contains("allow: GET, HEAD, DELETE"), response);
+        assertTrue(response.contains("{\"orderId\":42}"), response);
+    }
+
+    @Test
+    void typeMismatchKeepsPipelinedConnectionOpen() throws IOException {
+        String response = send("GET /hello/orders/42/items/x HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "GET /hello/orders/42/items/3 HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+
+        assertEquals(Arrays.asList("400", "200"), statusCodes(response));
+    }
+
+    @Test
+    void sameStructurePatternsBindTheirOwnVariableNames() throws IOException {
+        // GET /orders/{orderId}和DELETE /orders/{id}共用一个路由
+        String response = send("GET /hello/orders/42 HTTP/1.1\r\nHost: x\r\n\r\n"
+                + "DELETE /hello/orders/7 HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+
+        assertEquals(Arrays.asList("200", "200"), statusCodes(response));
+        assertTrue(response.contains("{\"orderId\":42}"), response);
+        assertTrue(response.contains("{\"deleted\":7}"), response);
+    }
+
+    @Test
+    void formDecoderIsDestroyedAfterRequest() throws Exception {
+        String form = "name=terabithia&size=1";
+        String response = send("POST /hello/testPost HTTP/1.1\r\nHost: x\r\nConnection: close\r\n"
+                + "Content-Type: application/x-www-form-urlencoded\r\nContent-Length: " + form.length() + "\r\n\r\n" + form);
+
+        assertEquals(Collections.singletonList("200"), statusCodes(response));
+        ParamWrapperRequest request = formInterceptor.lastRequest.get();
+        assertNotNull(request);
+        assertEquals(Collections.singletonList("terabithia"), request.getParameterValues("name"));
+        // 在业务线程中执行的handler写出响应后才释放请求
+        for (int i = 0; i < 50 && !request.isDestroyed(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(request.isDestroyed());
+        assertEquals(0, request.refCnt());
+    }
+
+    /**
+     * @param requests 最后一个请求需要带Connection: close
+     * @return 连接关闭前收到的所有响应
+     */
+    static String send(String requests) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", PORT)) {
+            socket.setSoTimeout(10000);
+            socket.getOutputStream().write(requests.getBytes(StandardCharsets.ISO_8859_1));
+            socket.getOutputStream().flush();
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static List<String> statusCodes(String response) {
+        List<String> codes = new ArrayList<>();
+        Matcher matcher = STATUS_LINE.matcher(response);
+        while (matcher.find()) {
+            codes.add(matcher.group(1));
+        }
+        return codes;
+    }
+
+    @TestConfiguration
+    static class FormInterceptorConfig {
+
+        @Bean
+        FormCapturingInterceptor formCapturingInterceptor() {
+            return new FormCapturingInterceptor();
+        }
+    }
+
+    /**
+     * 读取表单参数，创建懒加载的请求体解码器，并记录请求
+     */
+    static class FormCapturingInterceptor implements HandlerInterceptor {
+
+        final AtomicReference<ParamWrapperRequest> lastRequest = new AtomicReference<>();
+
+        @Override
+        public boolean match(FullHttpRequest request) {
+            return request.uri().startsWith("/hello/testPost");
+        }
+
+        @Override
+        public boolean preHandle(ChannelHandlerContext ctx, FullHttpRequest request, HandlerMethod handler) {
+            ParamWrapperRequest wrapper = (ParamWrapperRequest) request;
+            wrapper.getParameterMap();
+            lastRequest.set(wrapper);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.javaedit.terabithia.handler.netty;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: uri的解析：百分号解码、absolute-form、查询参数和fragment
+ * @title: RequestPathTests
+ * @date 2026/10/19 15:30
+ */
+class RequestPathTests {
+
+    @Test
+    void plainPathIsNotCopied() {
+        String uri = "/hello/testGet?a=1&b=2";
+
+        RequestPath path = RequestPath.parse(uri);
+
+        assertSame(uri, path.getSource());
+        assertEquals(0, path.getStart());
+        assertEquals("/hello/testGet".length(), path.getEnd());
+        assertEquals("/hello/testGet", path.path());
+        assertEquals("a=1&b=2", path.rawQuery());
+    }
+
+    @Test
+    void decodesPercentEncodedPath() {
+        RequestPath path = RequestPath.parse("/files/a%20b/%E4%BD%A0%E5%A5%BD?q=%20");
+
+        assertEquals("/files/a b/你好", path.path());
+        // 查询参数不解码
+        assertEquals("q=%20", path.rawQuery());
+    }
+
+    @Test
+    void keepsPlusInPath() {
+        assertEquals("/files/a+b", RequestPath.parse("/files/a+b").path());
+    }
+
+    @Test
+    void malformedEscapeFallsBackToRawPath() {
+        assertEquals("/files/%zz", RequestPath.parse("/files/%zz").path());
+        assertEquals("/files/%4", RequestPath.parse("/files/%4").path());
+    }
+
+    @Test
+    void decodesRawUtf8Bytes() {
+        // HttpObjectDecoder把请求行的每个字节转换为一个字符
+        String latin1 = new String("/你好".getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.ISO_8859_1);
+
+        assertEquals("/你好", RequestPath.parse(latin1).path());
+    }
+
+    @Test
+    void skipsSchemeAndAuthorityOfAbsoluteForm() {
+        RequestPath path = RequestPath.parse("http://example.com:8080/hello/testGet?a=1");
+
+        assertEquals("/hello/testGet", path.path());
+        assertEquals("a=1", path.rawQuery());
+    }
+
+    @Test
+    void absoluteFormWithoutPathIsRoot() {
+        assertEquals("/", RequestPath.parse("http://example.com").path());
+        RequestPath path = RequestPath.parse("http://example.com?a=1");
+        assertEquals("/", path.path());
+        assertEquals("a=1", path.rawQuery());
+    }
+
+    @Test
+    void excludesFragment() {
+        RequestPath path = RequestPath.parse("/hello#top");
+        assertEquals("/hello", path.path());
+        assertNull(path.rawQuery());
+
+        path = RequestPath.parse("/hello?a=1#top");
+        assertEquals("/hello", path.path());
+        assertEquals("a=1", path.rawQuery());
+    }
+
+    @Test
+    void distinguishesEmptyAndMissingQuery() {
+        assertEquals("", RequestPath.parse("/hello?").rawQuery());
+        assertNull(RequestPath.parse("/hello").rawQuery());
+    }
+}
@@ -0,0 +1,68 @@
+package com.javaedit.terabithia.handler.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: 流式请求体的流控和pipelining共用autoRead时，任何一方都不能绕过另一方恢复读取
+ * @title: StreamingRequestBodyTests
+ * @date 2026/10/19 14:40
+ */
+class StreamingRequestBodyTests {
+
+    @Test
+    void consumingBodyDoesNotResumeReadPausedByPipelining() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamingRequestBody body = new StreamingRequestBody(channel, 4, 1000);
+
+        body.offer(Unpooled.wrappedBuffer(new byte[8]));
+        assertFalse(channel.config().isAutoRead());
+        ReadThrottle.get(channel).pause(ReadThrottle.PIPELINING);
+
+        ByteBuf chunk = body.readChunk();
+        chunk.release();
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        ReadThrottle.get(channel).resume(ReadThrottle.PIPELINING);
+        assertTrue(channel.config().isAutoRead());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closingBodyDoesNotResumeReadPausedByPipelining() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamingRequestBody body = new StreamingRequestBody(channel, 4, 1000);
+
+        ReadThrottle.get(channel).pause(ReadThrottle.PIPELINING);
+        body.offer(Unpooled.wrappedBuffer(new byte[8]));
+        body.close();
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        ReadThrottle.get(channel).resume(ReadThrottle.PIPELINING);
+        assertTrue(channel.config().isAutoRead());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void pipeliningDoesNotResumeReadPausedByBody() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamingRequestBody body = new StreamingRequestBody(channel, 4, 1000);
+
+        ReadThrottle.get(channel).pause(ReadThrottle.PIPELINING);
+        body.offer(Unpooled.wrappedBuffer(new byte[8]));
+        ReadThrottle.get(channel).resume(ReadThrottle.PIPELINING);
+        assertFalse(channel.config().isAutoRead());
+
+        body.readChunk().release();
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,102 @@
+package com.javaedit.terabithia.handler.web;
+
+import com.javaedit.terabithia.handler.netty.ParamWrapperRequest;
+import com.javaedit.terabithia.method.HandlerMethod;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: 同一个路由的请求共用处理器链条，拦截器的执行状态记录在各自的请求中
+ * @title: HandlerExecutionChainTests
+ * @date 2026/10/19 17:20
+ */
+class HandlerExecutionChainTests {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void sharedChainTracksInterceptorsPerRequest() throws Exception {
+        HandlerExecutionChain chain = new HandlerExecutionChain(handlerMethod(), null, new HandlerInterceptor[]{
+                new RecordingInterceptor("a", true), new RecordingInterceptor("b", true)});
+        ParamWrapperRequest rejected = request("/reject");
+        ParamWrapperRequest accepted = request("/ok");
+
+        assertTrue(chain.applyPreHandle(null, accepted));
+        // b拒绝了请求，只有a的完成方法执行
+        assertFalse(chain.applyPreHandle(null, rejected));
+        assertEquals(Arrays.asList("a.pre", "b.pre", "a.pre", "b.pre", "a.after"), calls);
+
+        calls.clear();
+        chain.triggerAfterCompletion(null, accepted, null);
+        assertEquals(Arrays.asList("b.after", "a.after"), calls);
+    }
+
+    @Test
+    void skipsInterceptorsThatDoNotMatch() throws Exception {
+        HandlerExecutionChain chain = new HandlerExecutionChain(handlerMethod(), null, new HandlerInterceptor[]{
+                new RecordingInterceptor("a", true), new RecordingInterceptor("b", false)});
+        ParamWrapperRequest request = request("/ok");
+
+        assertTrue(chain.applyPreHandle(null, request));
+        chain.applyPostHandle(null, request, null);
+        chain.triggerAfterCompletion(null, request, null);
+
+        assertEquals(Arrays.asList("a.pre", "a.post", "a.after"), calls);
+    }
+
+    private static ParamWrapperRequest request(String uri) {
+        return new ParamWrapperRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri));
+    }
+
+    private static HandlerMethod handlerMethod() throws NoSuchMethodException {
+        return new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+    }
+
+    /**
+     * 记录调用顺序，b拒绝uri为/reject的请求
+     */
+    private class RecordingInterceptor implements HandlerInterceptor {
+
+        private final String name;
+
+        private final boolean matches;
+
+        RecordingInterceptor(String name, boolean matches) {
+            this.name = name;
+            this.matches = matches;
+        }
+
+        @Override
+        public boolean match(FullHttpRequest request) {
+            return matches;
+        }
+
+        @Override
+        public boolean preHandle(ChannelHandlerContext ctx, FullHttpRequest request, HandlerMethod handler) {
+            calls.add(name + ".pre");
+            return !("b".equals(name) && "/reject".equals(request.uri()));
+        }
+
+        @Override
+        public void postHandle(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response, HandlerMethod handler) {
+            calls.add(name + ".post");
+        }
+
+        @Override
+        public void afterCompletion(ChannelHandlerContext ctx, FullHttpRequest request, Object handler, Exception ex) {
+            calls.add(name + ".after");
+        }
+    }
+}
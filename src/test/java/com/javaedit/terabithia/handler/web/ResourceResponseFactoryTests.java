@@ -0,0 +1,56 @@
+package com.javaedit.terabithia.handler.web;
+
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: Accept-Encoding的解析：编码本身的条目优先于*，q=0表示不接受，与条目顺序无关
+ * @title: ResourceResponseFactoryTests
+ * @date 2026/10/19 17:40
+ */
+class ResourceResponseFactoryTests {
+
+    @Test
+    void exactCodingOverridesRefusedWildcard() {
+        assertTrue(accepts("*;q=0, gzip", "gzip"));
+        assertTrue(accepts("gzip, *;q=0", "gzip"));
+        assertFalse(accepts("*;q=0, gzip", "br"));
+    }
+
+    @Test
+    void refusedExactCodingOverridesWildcard() {
+        assertFalse(accepts("*, gzip;q=0", "gzip"));
+        assertFalse(accepts("gzip;q=0, *", "gzip"));
+        assertTrue(accepts("*, gzip;q=0", "br"));
+    }
+
+    @Test
+    void parsesQualityValues() {
+        assertTrue(accepts("gzip;q=0.5", "gzip"));
+        assertTrue(accepts("GZIP ; Q=0.001", "gzip"));
+        assertFalse(accepts("gzip;q=0.000", "gzip"));
+        assertFalse(accepts("gzip;q=x", "gzip"));
+        assertTrue(accepts("deflate, br", "br"));
+    }
+
+    @Test
+    void missingHeaderAcceptsNothing() {
+        assertFalse(accepts(null, "gzip"));
+        assertFalse(accepts("identity", "gzip"));
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/static/app.js");
+        if (acceptEncoding != null) {
+            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return ResourceResponseFactory.acceptsEncoding(request, encoding);
+    }
+}
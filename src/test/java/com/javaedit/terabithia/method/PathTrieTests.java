@@ -0,0 +1,150 @@
+package com.javaedit.terabithia.method;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: 路由表的插入、拆分节点、优先级和回溯
+ * @title: PathTrieTests
+ * @date 2026/10/19 15:10
+ */
+class PathTrieTests {
+
+    @Test
+    void splitsSharedPrefixes() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/orders", "orders");
+        trie.insert("/order", "order");
+        trie.insert("/or", "or");
+        trie.insert("/other", "other");
+
+        assertEquals("orders", value(trie, "/orders"));
+        assertEquals("order", value(trie, "/order"));
+        assertEquals("or", value(trie, "/or"));
+        assertEquals("other", value(trie, "/other"));
+        assertNull(value(trie, "/o"));
+        assertNull(value(trie, "/orderx"));
+    }
+
+    @Test
+    void prefersLiteralThenRegexThenVariableThenCatchAll() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/files/**", "catchAll");
+        trie.insert("/files/{name}", "variable");
+        trie.insert("/files/{id:\\d+}", "regex");
+        trie.insert("/files/latest", "literal");
+
+        assertEquals("literal", value(trie, "/files/latest"));
+        assertEquals("regex", value(trie, "/files/42"));
+        assertEquals("variable", value(trie, "/files/readme"));
+        assertEquals("catchAll", value(trie, "/files/a/b"));
+    }
+
+    @Test
+    void backtracksWhenPreferredBranchFails() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/a/latest/x", "literal");
+        trie.insert("/a/{id:\\d+}/y", "regex");
+        trie.insert("/a/{name}/z", "variable");
+
+        // 字面量分支匹配了latest但后面不匹配，回溯到变量
+        assertEquals("variable", value(trie, "/a/latest/z"));
+        // 正则分支匹配了42但后面不匹配，回溯到普通变量
+        assertEquals("variable", value(trie, "/a/42/z"));
+        assertEquals("regex", value(trie, "/a/42/y"));
+        assertNull(value(trie, "/a/latest/y"));
+    }
+
+    @Test
+    void capturesVariablePositions() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/orders/{orderId:\\d+}/items/{index}", "item");
+        int[] captures = new int[2 * trie.getMaxVariables()];
+        String path = "/orders/42/items/3";
+
+        PathTrie.Route<String> route = trie.match(path, captures);
+
+        assertNotNull(route);
+        assertEquals("/orders/{:\\d+}/items/{}", route.getPattern());
+        assertEquals("42", path.substring(captures[0], captures[1]));
+        assertEquals("3", path.substring(captures[2], captures[3]));
+    }
+
+    @Test
+    void matchesWithinSourceRange() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/orders/{id}", "order");
+        int[] captures = new int[2];
+        String uri = "/orders/7?verbose=true";
+
+        PathTrie.Route<String> route = trie.match(uri, 0, uri.indexOf('?'), captures);
+
+        assertNotNull(route);
+        assertEquals("7", uri.substring(captures[0], captures[1]));
+    }
+
+    @Test
+    void catchAllMatchesBarePrefix() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/files/**", "files");
+
+        assertEquals("files", value(trie, "/files"));
+        assertEquals("files", value(trie, "/files/"));
+        assertEquals("files", value(trie, "/files/a/b.txt"));
+        assertNull(value(trie, "/filesystem"));
+    }
+
+    @Test
+    void variablesDoNotMatchEmptySegments() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/orders/{id}", "order");
+        trie.insert("/orders/{id}/items", "items");
+
+        assertNull(value(trie, "/orders/"));
+        assertNull(value(trie, "/orders//items"));
+        assertEquals("items", value(trie, "/orders/1/items"));
+    }
+
+    @Test
+    void samePatternStructureSharesRoute() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.insert("/orders/{id}", "first");
+        trie.insert("/orders/{orderId}", "second");
+
+        assertEquals("second", value(trie, "/orders/1"));
+    }
+
+    @Test
+    void rejectsInvalidPatterns() {
+        PathTrie<String> trie = new PathTrie<>();
+
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("orders", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/orders/{}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/orders/{:\\d+}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/orders/{id}/items/{id}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/orders/id-{id}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/files/**/x", "x"));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/files/a**", "x"));
+    }
+
+    @Test
+    void normalizeDropsVariableNamesAndKeepsRegex() {
+        List<String> names = new ArrayList<>();
+
+        String normalized = PathTrie.normalize("/orders/{orderId:\\d+}/items/{index}", names);
+
+        assertEquals("/orders/{:\\d+}/items/{}", normalized);
+        assertEquals(Arrays.asList("orderId", "index"), names);
+    }
+
+    private static String value(PathTrie<String> trie, String path) {
+        PathTrie.Route<String> route = trie.match(path, new int[2 * Math.max(trie.getMaxVariables(), 1)]);
+        return route == null ? null : route.getValue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.javaedit.terabithia.method.annotation;
+
+import com.javaedit.terabithia.config.InvocationStrategy;
+import com.javaedit.terabithia.method.HandlerMethod;
+import com.javaedit.terabithia.method.support.handler.HandlerMethodArgumentResolverComposite;
+import com.javaedit.terabithia.method.support.handler.HandlerMethodReturnValueHandlerComposite;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wjw
+ * @description: 两种调用方式抛出的异常应该一致
+ * @title: InvocableHandlerMethodTests
+ * @date 2026/10/19 10:50
+ */
+class InvocableHandlerMethodTests {
+
+    private final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+
+    @ParameterizedTest
+    @EnumSource(InvocationStrategy.class)
+    void handlerExceptionIsThrownUnwrappedWithItsCause(InvocationStrategy strategy) throws Exception {
+        InvocableHandlerMethod handlerMethod = create("fail", strategy);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> handlerMethod.invokeAndHandle(request));
+        assertEquals("x", ex.getMessage());
+        assertTrue(ex.getCause() instanceof SQLException);
+    }
+
+    @ParameterizedTest
+    @EnumSource(InvocationStrategy.class)
+    void handlerErrorIsWrappedInInvocationTargetException(InvocationStrategy strategy) throws Exception {
+        InvocableHandlerMethod handlerMethod = create("error", strategy);
+
+        InvocationTargetException ex = assertThrows(InvocationTargetException.class, () -> handlerMethod.invokeAndHandle(request));
+        assertTrue(ex.getTargetException() instanceof AssertionError);
+    }
+
+    private InvocableHandlerMethod create(String methodName, InvocationStrategy strategy) throws NoSuchMethodException {
+        HandlerMethod handlerMethod = new HandlerMethod(new TestController(), TestController.class.getMethod(methodName));
+        return new InvocableHandlerMethod(handlerMethod, new HandlerMethodArgumentResolverComposite(),
+                new HandlerMethodReturnValueHandlerComposite(), strategy);
+    }
+
+    public static class TestController {
+
+        public String fail() {
+            throw new IllegalStateException("x", new SQLException("sql"));
+        }
+
+        public String error() {
+            throw new AssertionError("error");
+        }
+    }
+}